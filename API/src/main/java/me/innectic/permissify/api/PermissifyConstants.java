@@ -37,7 +37,7 @@ import java.util.List;
 public class PermissifyConstants {
     // TODO: Create a language formatter to allow for translating.
 
-    public static final int PERMISSIFY_PROFILE_VERSION = 2;
+    public static final int PERMISSIFY_PROFILE_VERSION = 3;
 
     // Chat messages
     private static final String PERMISSIFY_PREFIX = "&a&lPermissify> ";
@@ -61,6 +61,10 @@ public class PermissifyConstants {
     public static final String PERMISSIFY_CACHE = "permissify.cache";
     public static final String PERMISSIFY_ADMIN = "permissify.admin";
     public static final String PERMISSIFY_PROFILE = "permissify.profile";
+    public static final String PERMISSIFY_LADDER_CREATE = "permissify.ladder.create";
+    public static final String PERMISSIFY_LADDER_REMOVE = "permissify.ladder.remove";
+    public static final String PERMISSIFY_LADDER_SET = "permissify.ladder.set";
+    public static final String PERMISSIFY_LADDER_LIST = "permissify.ladder.list";
 
     public static final String INSUFFICIENT_PERMISSIONS = PERMISSIFY_PREFIX + "&c&lInsufficient permissions!";
 
@@ -70,16 +74,17 @@ public class PermissifyConstants {
     public static final String GROUP_LIST = PERMISSIFY_PREFIX + "&e&lRegistered groups: <GROUPS>";
     public static final String PLAYER_GROUP_LIST = PERMISSIFY_PREFIX + "&e&lGroups for <PLAYER>: <GROUPS>";
     public static final String CACHE_PURGED = PERMISSIFY_PREFIX + "&e&lCache has been purged!";
-    public static final String CACHE_INFORMATION = PERMISSIFY_PREFIX + "&e&lCached groups: <GROUPS>, cached permissions: <PERMISSIONS>, default group: <DEFAULT>";
+    public static final String CACHE_INFORMATION = PERMISSIFY_PREFIX + "&e&lCached groups: <GROUPS>, cached permissions: <PERMISSIONS>, default group: <DEFAULT>, pending writes: <QUEUE>, permission nodes: <NODES> (~<HEAP> KB, ~<SAVED> KB saved), compiled sets: <COMPILED> shared by <PLAYERS> players";
     public static final String PRIMARY_GROUP_TEMPLATE = PERMISSIFY_PREFIX + "&e&lCurrent primary group: <GROUP>";
 
     public static final String PERMISSION_ADDED_GROUP = PERMISSIFY_PREFIX + "&e&lPermission <PERMISSION> has been added to <GROUP>!";
     public static final String PERMISSION_REMOVED_GROUP = PERMISSIFY_PREFIX + "&e&lPermission <PERMISSION> has been removed from <GROUP>!";
 
     public static final String PERMISSION_ADDED_PLAYER = PERMISSIFY_PREFIX + "&e&lPermission <PERMISSION> has been added to <PLAYER>!";
-    public static final String PERMISSION_ADDED_PLAYER_TIMED = PERMISSIFY_PREFIX + "&e&lPermission <PERMISSION> has been added to <PLAYER>, and will expire in <SECONDS>!";
+    public static final String PERMISSION_ADDED_PLAYER_TIMED = PERMISSIFY_PREFIX + "&e&lPermission <PERMISSION> has been added to <PLAYER>, and will expire in <SECONDS> seconds!";
     public static final String PERMISSION_REMOVED_PLAYER = PERMISSIFY_PREFIX + "&e&lPermission <PERMISSION> has been removed from <PLAYER>!";
     public static final String PLAYER_ADDED_TO_GROUP = PERMISSIFY_PREFIX + "&e&lAdded <PLAYER> to <GROUP>";
+    public static final String PLAYER_ADDED_TO_GROUP_TIMED = PERMISSIFY_PREFIX + "&e&lAdded <PLAYER> to <GROUP>, and will be removed in <SECONDS> seconds!";
     public static final String PLAYER_REMOVED_FROM_GROUP = PERMISSIFY_PREFIX + "&e&lRemoved <PLAYER> from <GROUP>";
     public static final String MAIN_GROUP_SET = PERMISSIFY_PREFIX + "&e&lSet main group for <PLAYER> to <GROUP>!";
     public static final String PLAYER_ALREADY_HAS_PERMISSION = PERMISSIFY_PREFIX + "&c&lPlayer <PLAYER> already has permission <PERMISSION>";
@@ -87,6 +92,16 @@ public class PermissifyConstants {
     public static final String ALREADY_MAIN_GROUP = PERMISSIFY_PREFIX + "&c&l<GROUP> is already the main group!";
     public static final String GROUP_ALREADY_EXISTS = PERMISSIFY_PREFIX + "&c&l<GROUP> already exists!";
 
+    public static final String LADDER_CREATED = PERMISSIFY_PREFIX + "&e&lLadder <LADDER> has been created!";
+    public static final String LADDER_REMOVED = PERMISSIFY_PREFIX + "&e&lLadder <LADDER> has been removed!";
+    public static final String LADDER_LEVEL_SET = PERMISSIFY_PREFIX + "&e&l<GROUP> is now on <LADDER> with power <POWER>!";
+    public static final String LADDER_LEVEL_REMOVED = PERMISSIFY_PREFIX + "&e&l<GROUP> has been taken off <LADDER>!";
+    public static final String LADDER_LIST = PERMISSIFY_PREFIX + "&e&lRegistered ladders: <LADDERS>";
+    public static final String LADDER_GROUPS = PERMISSIFY_PREFIX + "&e&lGroups on <LADDER>, lowest first: <GROUPS>";
+    public static final String LADDER_ALREADY_EXISTS = PERMISSIFY_PREFIX + "&c&l<LADDER> already exists!";
+    public static final String LADDER_ALREADY_SET = PERMISSIFY_PREFIX + "&c&l<GROUP> already has that power on <LADDER>!";
+    public static final String GROUP_NOT_ON_LADDER = PERMISSIFY_PREFIX + "&c&l<GROUP> isn't on <LADDER>!";
+
     public static final String EMPTY_DEFAULT_GROUP_NAME = "&c&lNONE";
     public static final String DEFAULT_GROUP_RESPONSE = PERMISSIFY_PREFIX + "&e&lThe current default group is '<GROUP>&e&l'.";
     public static final String DEFAULT_GROUP_SET = PERMISSIFY_PREFIX + "&e&lThe default group has been set to '<GROUP>&e&l'.";
@@ -97,16 +112,21 @@ public class PermissifyConstants {
     public static final String NOT_ENOUGH_ARGUMENTS_GROUP_PERMISSION_REMOVE = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify group removepermission [group] [permission]";
     public static final String NOT_ENOUGH_ARGUMENTS_GROUP_PERMISSION_LIST = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify group listpermissions [group]";
     public static final String NOT_ENOUGH_ARGUMENTS_PLAYER = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify player [addgroup|removegroup|listpermissions|listgroups|addpermission|removepermission] [player]";
-    public static final String NOT_ENOUGH_ARGUMENTS_PLAYER_ADD_PERMISSION = PERMISSIFY_PREFIX  + "&c&lNot enough arguments! &e&l/permissify player addpermission [player] [permission]";
+    public static final String NOT_ENOUGH_ARGUMENTS_PLAYER_ADD_PERMISSION = PERMISSIFY_PREFIX  + "&c&lNot enough arguments! &e&l/permissify player addpermission [player] [permission] [seconds]";
     public static final String NOT_ENOUGH_ARGUMENTS_PLAYER_REMOVE_PERMISSION = PERMISSIFY_PREFIX  + "&c&lNot enough arguments! &e&l/permissify player removepermission [player] [permission]";
     public static final String NOT_ENOUGH_ARGUMENTS_PLAYER_LIST_PERMISSIONS = PERMISSIFY_PREFIX  + "&c&lNot enough arguments! &e&l/permissify player listpermissions [player]";
-    public static final String NOT_ENOUGH_ARGUMENTS_PLAYER_ADD_GROUP= PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify player addgroup [player] [group]";
+    public static final String NOT_ENOUGH_ARGUMENTS_PLAYER_ADD_GROUP= PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify player addgroup [player] [group] [seconds]";
     public static final String NOT_ENOUGH_ARGUMENTS_PLAYER_REMOVE_GROUP= PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify player removegroup [player] [group]";
     public static final String NOT_ENOUGH_ARGUMENTS_PLAYER_LIST_GROUP = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify player listgroup [player]";
     public static final String NOT_ENOUGH_ARGUMENTS_SET_MAIN_GROUP = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify player primarygroup <player> [group]";
     public static final String NOT_ENOUGH_ARGUMENTS_PROFILE = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify profile [save|load] [profile]";
     public static final String NOT_ENOUGH_ARGUMENTS_PROFILE_SAVE = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify profile save [fileName]";
     public static final String NOT_ENOUGH_ARGUMENTS_PROFILE_LOAD = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify profile load [source]";
+    public static final String NOT_ENOUGH_ARGUMENTS_LADDER = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify ladder [create|remove|set|unset|list]";
+    public static final String NOT_ENOUGH_ARGUMENTS_LADDER_CREATE = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify ladder create [ladder]";
+    public static final String NOT_ENOUGH_ARGUMENTS_LADDER_REMOVE = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify ladder remove [ladder]";
+    public static final String NOT_ENOUGH_ARGUMENTS_LADDER_SET = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify ladder set [ladder] [group] [power]";
+    public static final String NOT_ENOUGH_ARGUMENTS_LADDER_UNSET = PERMISSIFY_PREFIX + "&c&lNot enough arguments! &e&l/permissify ladder unset [ladder] [group]";
     public static final String NOT_ENOUGH_ARGUMENTS_SUPERADMIN = PERMISSIFY_PREFIX + "&c&l/Not enough arguments! &e&l/permissify superadmin <grant|remove> <player>";
 
     public static final String PROFILE_SAVED = PERMISSIFY_PREFIX + "&e&lSaved profile '<PROFILE>'.";
@@ -117,6 +137,8 @@ public class PermissifyConstants {
     public static final String INVALID_CHATCOLOR = PERMISSIFY_PREFIX + "&c&lInvalid chat color <COLOR>";
     public static final String INVALID_GROUP = PERMISSIFY_PREFIX + "&c&lInvalid group '<GROUP>'!";
     public static final String INVALID_PLAYER = PERMISSIFY_PREFIX + "&c&lInvalid player!";
+    public static final String INVALID_LADDER = PERMISSIFY_PREFIX + "&c&lInvalid ladder '<LADDER>'!";
+    public static final String INVALID_POWER = PERMISSIFY_PREFIX + "&c&lInvalid power '<POWER>'!";
     public static final String INVALID_ARGUMENT = PERMISSIFY_PREFIX + "&c&lInvalid argument: <ARGUMENT>";
 
     public static final String PLAYER_NOT_IN_GROUP = PERMISSIFY_PREFIX + "&c&l<PLAYER> isn't in the group <GROUP>!";
@@ -128,6 +150,10 @@ public class PermissifyConstants {
     public static final String UNABLE_OTHER = PERMISSIFY_PREFIX + "&c&lUnable to continue: <REASON>";
     public static final String UNABLE_TO_SET = PERMISSIFY_PREFIX + "&c&lUnable to set: <REASON>";
 
+    public static final String PRELOAD_TIMED_OUT = PERMISSIFY_PREFIX + "&c&lYour permissions couldn't be loaded in time, please try joining again.";
+    public static final String TOO_MANY_COMMANDS = PERMISSIFY_PREFIX + "&c&lYou already have commands running, wait for them to finish.";
+    public static final String COMMANDS_BUSY = PERMISSIFY_PREFIX + "&c&lToo many commands are waiting to run, try again shortly.";
+
     public static final String PERMISSIFY_HELP_HEADER = "&e================== &a&lPermissify Help &e==================";
     public static final String PERMISSIFY_HELP_FOOTER = "&e=====================================================";
 //    public static final int LINES_PER_PAGE = 10;   TODO: Pagination should happen by `len(pages) / lines_per_page`.
@@ -145,14 +171,20 @@ public class PermissifyConstants {
     ), Arrays.asList(
             "&a&l/permissify group listpermissions <group>",
             "&a&l/permissify group list",
-            "&a&l/permissify player addpermission <permission> <player>",
+            "&a&l/permissify player addpermission <player> <permission> [seconds]",
             "&a&l/permissify player removepermission <permission> <player>",
-            "&a&l/permissify player addgroup <player> <group>",
+            "&a&l/permissify player addgroup <player> <group> [seconds]",
             "&a&l/permissify player listpermissions <player>",
             "&a&l/permissify player listgroups <player>",
             "&a&l/permissify player removegroup <player> <group>",
             "&a&l/permissify player primarygroup <player> [group]",
             "&a&l/permissify group default [group]"
+    ), Arrays.asList(
+            "&a&l/permissify ladder create <ladder>",
+            "&a&l/permissify ladder remove <ladder>",
+            "&a&l/permissify ladder set <ladder> <group> <power> - &e&lGroups inherit from everything below them",
+            "&a&l/permissify ladder unset <ladder> <group>",
+            "&a&l/permissify ladder list [ladder]"
     )));
 
     // Error response
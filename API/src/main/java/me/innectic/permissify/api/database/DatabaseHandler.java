@@ -25,34 +25,253 @@
 package me.innectic.permissify.api.database;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-import me.innectic.permissify.api.permission.Permission;
+import me.innectic.permissify.api.database.async.IOExecutor;
+import me.innectic.permissify.api.permission.EffectivePermissions;
+import me.innectic.permissify.api.permission.ExpiryListener;
+import me.innectic.permissify.api.permission.GroupChangeListener;
+import me.innectic.permissify.api.permission.GroupHierarchy;
+import me.innectic.permissify.api.permission.Ladder;
+import me.innectic.permissify.api.permission.MemoryReport;
+import me.innectic.permissify.api.permission.PermissionDelta;
 import me.innectic.permissify.api.permission.PermissionGroup;
+import me.innectic.permissify.api.permission.PermissionSet;
+import me.innectic.permissify.api.permission.PermissionSignature;
+import me.innectic.permissify.api.permission.PlayerGroups;
 import me.innectic.permissify.api.profile.PermissifyProfile;
 import me.innectic.permissify.api.util.Tristate;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * @author Innectic
  * @since 6/8/2017
  *
  * The base database type.
+ *
+ * Every operation also has an async variant, which runs on the handler's {@link IOExecutor}. Async reads that
+ * only need the cache complete immediately instead.
  */
-@RequiredArgsConstructor
 public abstract class DatabaseHandler {
 
-    @Getter protected Map<UUID, List<Permission>> cachedPermissions = new HashMap<>();
-    @Getter protected Map<String, PermissionGroup> cachedGroups = new HashMap<>();
-    @Getter protected Optional<PermissionGroup> defaultGroup = Optional.empty();
+    // Caches are read without locking. Groups are keyed by their normalized name. Writers are serialized on the handler, only ever put immutable values into
+    // the maps, and reloads build new caches before swapping them in whole.
+    @Getter protected volatile Map<UUID, PermissionSet> cachedPermissions = new ConcurrentHashMap<>();
+    @Getter protected volatile Map<String, PermissionGroup> cachedGroups = new ConcurrentHashMap<>();
+    @Getter protected volatile Optional<PermissionGroup> defaultGroup = Optional.empty();
     @Getter protected final ConnectionInformation connectionInformation;
-    @Getter protected List<UUID> superAdmins = new ArrayList<>();
+    @Getter protected volatile List<UUID> superAdmins = new CopyOnWriteArrayList<>();
+    // The groups each player is in, so looking them up doesn't mean checking every group.
+    @Getter protected volatile Map<UUID, PlayerGroups> memberships = new ConcurrentHashMap<>();
+    @Getter protected final IOExecutor executor;
+    // Ladders are keyed by their normalized name, and the hierarchy is rebuilt whenever one changes.
+    @Getter protected volatile Map<String, Ladder> cachedLadders = new ConcurrentHashMap<>();
+    @Getter protected volatile GroupHierarchy hierarchy = GroupHierarchy.EMPTY;
+    // Chat formats keyed by their formatter, like chat or whisper. Replaced whole on reload.
+    @Getter protected volatile Map<String, String> formats = Collections.emptyMap();
+    // Compiled on first check, and dropped whenever the player's permissions or groups change.
+    protected final Map<UUID, EffectivePermissions> effectivePermissions = new ConcurrentHashMap<>();
+    // Players being compiled in the background for a check, so they're only compiled once.
+    private final Set<UUID> compilingForCheck = ConcurrentHashMap.newKeySet();
+    // Every compiled snapshot by what it was compiled from, so players with the same inputs share one. Snapshots are
+    // weakly held, and go away once no player uses them.
+    private final Map<PermissionSignature, CompiledReference> compiledBySignature = new ConcurrentHashMap<>();
+    private final ReferenceQueue<EffectivePermissions> releasedCompiled = new ReferenceQueue<>();
+    private final List<GroupChangeListener> groupChangeListeners = new CopyOnWriteArrayList<>();
+    private final List<ExpiryListener> expiryListeners = new CopyOnWriteArrayList<>();
+
+    private static class CompiledReference extends WeakReference<EffectivePermissions> {
+        private final PermissionSignature signature;
+
+        private CompiledReference(PermissionSignature signature, EffectivePermissions compiled, ReferenceQueue<EffectivePermissions> queue) {
+            super(compiled, queue);
+            this.signature = signature;
+        }
+    }
+
+    public DatabaseHandler(ConnectionInformation connectionInformation) {
+        this.connectionInformation = connectionInformation;
+        this.executor = IOExecutor.fromMeta(connectionInformation.getMeta());
+    }
+
+    /**
+     * Build the membership index for a set of groups.
+     *
+     * @param groups the groups to index
+     * @return the groups each player is in
+     */
+    protected static Map<UUID, PlayerGroups> indexMembers(Collection<PermissionGroup> groups) {
+        Map<UUID, PlayerGroups> index = new ConcurrentHashMap<>();
+        groups.forEach(group -> group.getPlayers().forEach((uuid, primary) ->
+                index.put(uuid, index.getOrDefault(uuid, PlayerGroups.EMPTY).with(group, primary))));
+        return index;
+    }
+
+    /**
+     * Record a player being in a group in the membership index. Only call this while holding the handler's lock.
+     *
+     * @param uuid      the uuid of the player
+     * @param group     the group they're in
+     * @param isPrimary if it's their primary group
+     */
+    protected void indexMember(UUID uuid, PermissionGroup group, boolean isPrimary) {
+        memberships.put(uuid, memberships.getOrDefault(uuid, PlayerGroups.EMPTY).with(group, isPrimary));
+    }
+
+    /**
+     * Remove a player's group from the membership index. Only call this while holding the handler's lock.
+     *
+     * @param uuid  the uuid of the player
+     * @param group the group they left
+     */
+    protected void unindexMember(UUID uuid, PermissionGroup group) {
+        PlayerGroups updated = memberships.getOrDefault(uuid, PlayerGroups.EMPTY).without(group);
+        if (updated == PlayerGroups.EMPTY) memberships.remove(uuid);
+        else memberships.put(uuid, updated);
+    }
+
+    /**
+     * Drop a player's compiled permissions, so they're compiled again on the next check. Call this when they leave,
+     * or when anything they're compiled from changes.
+     *
+     * @param uuid the uuid of the player
+     */
+    public void invalidatePlayer(UUID uuid) {
+        effectivePermissions.remove(uuid);
+    }
+
+    /**
+     * Drop the compiled permissions of every player in a group.
+     *
+     * @param group the group that changed
+     */
+    protected void invalidateGroup(PermissionGroup group) {
+        // Everything that inherits from the group changed with it.
+        Set<String> affected = hierarchy.invalidate(group.getName());
+        group.getPlayers().keySet().forEach(effectivePermissions::remove);
+        affected.forEach(name -> getGroup(name).ifPresent(descendant -> descendant.getPlayers().keySet().forEach(effectivePermissions::remove)));
+        compiledBySignature.keySet().removeIf(signature -> signature.getGroups().stream().anyMatch(affected::contains));
+    }
+
+    /**
+     * Capture what a group and everything inheriting from it give right now, before changing the group's
+     * permissions. Only call this while holding the handler's lock.
+     *
+     * @param group the group about to change
+     * @return what each affected group gives, empty if nothing is listening for changes
+     */
+    protected Map<PermissionGroup, PermissionSet> captureInherited(PermissionGroup group) {
+        if (groupChangeListeners.isEmpty()) return Collections.emptyMap();
+        Map<PermissionGroup, PermissionSet> captured = new LinkedHashMap<>();
+        captured.put(group, getInheritedPermissions(group));
+        hierarchy.getDescendants(group.getName()).forEach(name -> getGroup(name).ifPresent(descendant ->
+                captured.put(descendant, getInheritedPermissions(descendant))));
+        return captured;
+    }
+
+    /**
+     * Drop the compiled permissions of every player in a group, and tell the listeners what changed for each group
+     * since {@link #captureInherited(PermissionGroup)}. Only call this while holding the handler's lock.
+     *
+     * @param group    the group that changed
+     * @param captured what the affected groups gave before the change
+     */
+    protected void invalidateGroup(PermissionGroup group, Map<PermissionGroup, PermissionSet> captured) {
+        invalidateGroup(group);
+        captured.forEach((affected, before) -> {
+            PermissionDelta delta = PermissionDelta.between(before, getInheritedPermissions(affected));
+            if (delta.isEmpty()) return;
+            groupChangeListeners.forEach(listener -> listener.onGroupChanged(affected, delta));
+        });
+    }
+
+    /**
+     * Listen for changes to what groups give their players, so they can be applied without recomputing everything.
+     *
+     * @param listener the listener
+     */
+    public void addGroupChangeListener(GroupChangeListener listener) {
+        groupChangeListeners.add(listener);
+    }
+
+    public void removeGroupChangeListener(GroupChangeListener listener) {
+        groupChangeListeners.remove(listener);
+    }
+
+    /**
+     * Listen for players' timed permissions and memberships expiring.
+     *
+     * @param listener the listener
+     */
+    public void addExpiryListener(ExpiryListener listener) {
+        expiryListeners.add(listener);
+    }
+
+    public void removeExpiryListener(ExpiryListener listener) {
+        expiryListeners.remove(listener);
+    }
+
+    /**
+     * Tell the listeners that something of a player's expired, once it's been removed.
+     *
+     * @param uuid the uuid of the player
+     */
+    protected void expired(UUID uuid) {
+        expiryListeners.forEach(listener -> listener.onExpired(uuid));
+    }
+
+    /**
+     * Replace the ladders, and rebuild the hierarchy from them. Only call this while holding the handler's lock.
+     *
+     * @param ladders the ladders, keyed by normalized name
+     */
+    protected void publishLadders(Map<String, Ladder> ladders) {
+        cachedLadders = ladders;
+        hierarchy = GroupHierarchy.of(ladders.values());
+        invalidateAll();
+    }
+
+    /**
+     * Drop every compiled snapshot, for when the caches are replaced whole.
+     */
+    protected void invalidateAll() {
+        effectivePermissions.clear();
+        compiledBySignature.clear();
+    }
 
     /**
      * Initialize the database handler
      */
     public abstract void initialize();
 
+    /**
+     * Release everything the handler holds open, like database connections.
+     */
+    public abstract void shutdown();
+
+    /**
+     * Get how many writes are waiting to be written to the database.
+     *
+     * @return the number of pending writes
+     */
+    public abstract int getPendingWrites();
+
+    /**
+     * Estimate the heap used by the cached player and group permissions.
+     *
+     * @return the memory report
+     */
+    public MemoryReport getMemoryReport() {
+        List<PermissionSet> sets = new ArrayList<>(cachedPermissions.values());
+        cachedGroups.values().forEach(group -> sets.add(group.getPermissions()));
+        return MemoryReport.of(sets);
+    }
+
     /**
      * Clear the handler's cache and reload all needed values.
      *
@@ -70,6 +289,26 @@ public abstract class DatabaseHandler {
      */
     protected abstract void loadSuperAdmins();
 
+    /**
+     * Load all ladders
+     */
+    protected abstract void loadLadders();
+
+    /**
+     * Load all chat formats
+     */
+    protected abstract void loadFormats();
+
+    /**
+     * Get the format a formatter uses.
+     *
+     * @param formatter the formatter, like chat or whisper
+     * @return the format, if there is one
+     */
+    public Optional<String> getFormat(String formatter) {
+        return Optional.ofNullable(formats.get(formatter));
+    }
+
     /**
      * Drop all values from the handler.
      */
@@ -90,6 +329,16 @@ public abstract class DatabaseHandler {
      */
     public abstract void addPermission(UUID uuid, String... permissions);
 
+    /**
+     * Add permissions to a player that are removed again once they expire. Adding a permission again without an
+     * expiry makes it permanent.
+     *
+     * @param uuid        the UUID of the player to add the permissions to
+     * @param expiresAt   when the permissions expire, in epoch milliseconds
+     * @param permissions the permissions to add to a player
+     */
+    public abstract void addTimedPermission(UUID uuid, long expiresAt, String... permissions);
+
     /**
      * Remove permissions from a player
      *
@@ -122,7 +371,7 @@ public abstract class DatabaseHandler {
      * @param uuid the uuid to get the permissions of
      * @return the permissions the uuid has
      */
-    public abstract List<Permission> getPermissions(UUID uuid);
+    public abstract PermissionSet getPermissions(UUID uuid);
 
     /**
      * Create a new permission group.
@@ -144,12 +393,137 @@ public abstract class DatabaseHandler {
     public abstract Tristate deleteGroup(String name);
 
     /**
-     * Get the permission group from name.
+     * Get the permission group from name. Group names are case insensitive.
      *
      * @param name the name of the group.
      * @return fulfilled if exists, empty otherwise
      */
-    public abstract Optional<PermissionGroup> getGroup(String name);
+    public Optional<PermissionGroup> getGroup(String name) {
+        return Optional.ofNullable(cachedGroups.get(normalizeGroupName(name)));
+    }
+
+    /**
+     * Get everything a player has, from their own permissions and their groups.
+     *
+     * @param uuid the uuid of the player
+     * @return the player's compiled permissions
+     */
+    public EffectivePermissions getEffectivePermissions(UUID uuid) {
+        EffectivePermissions compiled = effectivePermissions.get(uuid);
+        if (compiled != null) return compiled;
+        // Load the player's own permissions before taking the lock, so writes don't wait on the database.
+        getPermissions(uuid);
+        // Compile under the write lock, so nothing can change between reading the inputs and caching the result.
+        synchronized (this) {
+            compiled = effectivePermissions.get(uuid);
+            if (compiled != null) return compiled;
+            PermissionSet personal = getPermissions(uuid);
+            List<PermissionGroup> groups = getGroups(uuid);
+            PermissionSignature signature = new PermissionSignature(groups, personal);
+
+            expungeReleasedCompiled();
+            CompiledReference shared = compiledBySignature.get(signature);
+            compiled = shared == null ? null : shared.get();
+            if (compiled == null) {
+                compiled = EffectivePermissions.compile(personal, getInheritedPermissions(groups));
+                compiledBySignature.put(signature, new CompiledReference(signature, compiled, releasedCompiled));
+            }
+            effectivePermissions.put(uuid, compiled);
+            return compiled;
+        }
+    }
+
+    /**
+     * Get a group's permissions, along with everything it inherits.
+     *
+     * @param group the group
+     * @return the group's flattened permissions
+     */
+    public PermissionSet getInheritedPermissions(PermissionGroup group) {
+        return hierarchy.getClosure(group, this::getGroup);
+    }
+
+    private List<PermissionSet> getInheritedPermissions(List<PermissionGroup> groups) {
+        // A group the player also gets through another of their groups is already part of that group's permissions.
+        return hierarchy.getClosures(groups, this::getGroup);
+    }
+
+    private void expungeReleasedCompiled() {
+        Reference<? extends EffectivePermissions> released;
+        while ((released = releasedCompiled.poll()) != null) {
+            CompiledReference reference = (CompiledReference) released;
+            compiledBySignature.remove(reference.signature, reference);
+        }
+    }
+
+    /**
+     * Count the distinct compiled snapshots in use by players right now.
+     *
+     * @return the number of distinct snapshots
+     */
+    public int getDistinctEffectivePermissions() {
+        Set<EffectivePermissions> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(effectivePermissions.values());
+        return distinct.size();
+    }
+
+    /**
+     * @return how many players have compiled permissions right now
+     */
+    public int getCompiledPlayers() {
+        return effectivePermissions.size();
+    }
+
+    /**
+     * Get a player's compiled permissions, only if they're already compiled. Never compiles or touches the database,
+     * so it's safe to call from anywhere.
+     *
+     * @param uuid the uuid of the player
+     * @return the compiled permissions, empty if the player hasn't been compiled
+     */
+    public Optional<EffectivePermissions> getCompiledPermissions(UUID uuid) {
+        return Optional.ofNullable(effectivePermissions.get(uuid));
+    }
+
+    /**
+     * Check a node against everything a player has, taking wildcards into account. Never blocks, so it's safe on the
+     * main thread: a player that isn't compiled yet gets NONE, and is compiled in the background for the next check.
+     *
+     * @param uuid the uuid of the player
+     * @param node the node to check
+     * @return TRUE if granted, FALSE if denied, NONE if nothing applies to the node or the player isn't compiled yet
+     * @see #checkBlocking(UUID, String)
+     */
+    public Tristate check(UUID uuid, String node) {
+        EffectivePermissions compiled = effectivePermissions.get(uuid);
+        if (compiled != null) return compiled.check(node);
+        if (compilingForCheck.add(uuid)) getEffectivePermissionsAsync(uuid).whenComplete((done, e) -> compilingForCheck.remove(uuid));
+        return Tristate.NONE;
+    }
+
+    /**
+     * Check a node against everything a player has, taking wildcards into account, compiling the player first if they
+     * aren't yet. Compiling may load them from the database on the calling thread, under the handler's lock, so never
+     * call this on the main thread.
+     *
+     * @param uuid the uuid of the player
+     * @param node the node to check
+     * @return TRUE if granted, FALSE if denied, NONE if nothing applies to the node
+     */
+    public Tristate checkBlocking(UUID uuid, String node) {
+        return getEffectivePermissions(uuid).check(node);
+    }
+
+    /**
+     * Get the key a group is cached under. Every group lookup goes through this, so names are case insensitive
+     * everywhere, no matter what the database does.
+     *
+     * @param name the name of the group
+     * @return the normalized name
+     */
+    public static String normalizeGroupName(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
 
     /**
      * Add a player to a permission group, and grant permissions.
@@ -160,6 +534,17 @@ public abstract class DatabaseHandler {
      */
     public abstract Tristate addPlayerToGroup(UUID uuid, PermissionGroup group);
 
+    /**
+     * Add a player to a permission group until a point in time. Extends the membership if it's already timed, and
+     * leaves a permanent membership alone.
+     *
+     * @param uuid      the uuid of the player
+     * @param group     the group to add them to
+     * @param expiresAt when the membership expires, in epoch milliseconds
+     * @return TRUE if they were added or extended, NONE if they're permanently in the group already
+     */
+    public abstract Tristate addTimedPlayerToGroup(UUID uuid, PermissionGroup group, long expiresAt);
+
     /**
      * Remove a player from a group.
      *
@@ -261,4 +646,273 @@ public abstract class DatabaseHandler {
      * @param group the default group
      */
     public abstract void setDefaultGroup(PermissionGroup group);
+
+    /**
+     * Create a new ladder.
+     *
+     * @param name the name of the ladder
+     * @return TRUE if created, NONE if it already exists
+     */
+    public abstract Tristate createLadder(String name);
+
+    /**
+     * Delete a ladder. The groups on it stop inheriting from each other.
+     *
+     * @param name the name of the ladder
+     * @return TRUE if deleted, NONE if it doesn't exist
+     */
+    public abstract Tristate deleteLadder(String name);
+
+    /**
+     * Put a group on a ladder, or move it if it's already on it.
+     *
+     * @param ladder the name of the ladder
+     * @param group  the group to put on the ladder
+     * @param power  the power of the group. Groups inherit from every group with less power.
+     * @return TRUE if set, NONE if the group already had that power, FALSE if the ladder doesn't exist
+     */
+    public abstract Tristate setLadderLevel(String ladder, PermissionGroup group, int power);
+
+    /**
+     * Take a group off a ladder.
+     *
+     * @param ladder the name of the ladder
+     * @param group  the group to take off
+     * @return TRUE if removed, NONE if it wasn't on the ladder, FALSE if the ladder doesn't exist
+     */
+    public abstract Tristate removeFromLadder(String ladder, PermissionGroup group);
+
+    /**
+     * Get a ladder by name. Ladder names are case insensitive.
+     *
+     * @param name the name of the ladder
+     * @return fulfilled if exists, empty otherwise
+     */
+    public Optional<Ladder> getLadder(String name) {
+        return Optional.ofNullable(cachedLadders.get(normalizeGroupName(name)));
+    }
+
+    /**
+     * Async version of {@link #reload(List)}.
+     */
+    public CompletableFuture<Void> reloadAsync(List<UUID> onlinePlayers) {
+        return executor.run(() -> reload(onlinePlayers));
+    }
+
+    /**
+     * Load a player's permissions, and any of their groups that aren't cached, into the cache. Players loaded close
+     * together are loaded with the same queries, so a wave of joins doesn't become a query per player.
+     *
+     * @param uuid the uuid of the player
+     * @return the player's permissions, once they're cached
+     */
+    public abstract CompletableFuture<PermissionSet> loadPlayerAsync(UUID uuid);
+
+    /**
+     * Async version of {@link #addPermission(UUID, String[])}.
+     */
+    public CompletableFuture<Void> addPermissionAsync(UUID uuid, String... permissions) {
+        return executor.run(() -> addPermission(uuid, permissions));
+    }
+
+    /**
+     * Async version of {@link #addTimedPermission(UUID, long, String[])}.
+     */
+    public CompletableFuture<Void> addTimedPermissionAsync(UUID uuid, long expiresAt, String... permissions) {
+        return executor.run(() -> addTimedPermission(uuid, expiresAt, permissions));
+    }
+
+    /**
+     * Async version of {@link #removePermission(UUID, String[])}.
+     */
+    public CompletableFuture<Void> removePermissionAsync(UUID uuid, String... permissions) {
+        return executor.run(() -> removePermission(uuid, permissions));
+    }
+
+    /**
+     * Async version of {@link #hasPermission(UUID, String)}.
+     */
+    public CompletableFuture<Boolean> hasPermissionAsync(UUID uuid, String permission) {
+        return CompletableFuture.completedFuture(hasPermission(uuid, permission));
+    }
+
+    /**
+     * Async version of {@link #isGrantedPermission(UUID, String)}.
+     */
+    public CompletableFuture<Boolean> isGrantedPermissionAsync(UUID uuid, String permission) {
+        if (cachedPermissions.containsKey(uuid)) return CompletableFuture.completedFuture(isGrantedPermission(uuid, permission));
+        return executor.supply(() -> isGrantedPermission(uuid, permission));
+    }
+
+    /**
+     * Async version of {@link #getEffectivePermissions(UUID)}.
+     */
+    public CompletableFuture<EffectivePermissions> getEffectivePermissionsAsync(UUID uuid) {
+        EffectivePermissions compiled = effectivePermissions.get(uuid);
+        if (compiled != null) return CompletableFuture.completedFuture(compiled);
+        return executor.supply(() -> getEffectivePermissions(uuid));
+    }
+
+    /**
+     * Async version of {@link #checkBlocking(UUID, String)}.
+     */
+    public CompletableFuture<Tristate> checkAsync(UUID uuid, String node) {
+        if (effectivePermissions.containsKey(uuid)) return CompletableFuture.completedFuture(checkBlocking(uuid, node));
+        return executor.supply(() -> checkBlocking(uuid, node));
+    }
+
+    /**
+     * Async version of {@link #getPermissions(UUID)}.
+     */
+    public CompletableFuture<PermissionSet> getPermissionsAsync(UUID uuid) {
+        if (cachedPermissions.containsKey(uuid)) return CompletableFuture.completedFuture(getPermissions(uuid));
+        return executor.supply(() -> getPermissions(uuid));
+    }
+
+    /**
+     * Async version of {@link #createGroup(String, String, String, String, String)}.
+     */
+    public CompletableFuture<Tristate> createGroupAsync(String name, String displayName, String prefix, String suffix, String chatColor) {
+        return executor.supply(() -> createGroup(name, displayName, prefix, suffix, chatColor));
+    }
+
+    /**
+     * Async version of {@link #deleteGroup(String)}.
+     */
+    public CompletableFuture<Tristate> deleteGroupAsync(String name) {
+        return executor.supply(() -> deleteGroup(name));
+    }
+
+    /**
+     * Async version of {@link #getGroup(String)}.
+     */
+    public CompletableFuture<Optional<PermissionGroup>> getGroupAsync(String name) {
+        return CompletableFuture.completedFuture(getGroup(name));
+    }
+
+    /**
+     * Async version of {@link #addPlayerToGroup(UUID, PermissionGroup)}.
+     */
+    public CompletableFuture<Tristate> addPlayerToGroupAsync(UUID uuid, PermissionGroup group) {
+        return executor.supply(() -> addPlayerToGroup(uuid, group));
+    }
+
+    /**
+     * Async version of {@link #addTimedPlayerToGroup(UUID, PermissionGroup, long)}.
+     */
+    public CompletableFuture<Tristate> addTimedPlayerToGroupAsync(UUID uuid, PermissionGroup group, long expiresAt) {
+        return executor.supply(() -> addTimedPlayerToGroup(uuid, group, expiresAt));
+    }
+
+    /**
+     * Async version of {@link #removePlayerFromGroup(UUID, PermissionGroup)}.
+     */
+    public CompletableFuture<Tristate> removePlayerFromGroupAsync(UUID uuid, PermissionGroup group) {
+        return executor.supply(() -> removePlayerFromGroup(uuid, group));
+    }
+
+    /**
+     * Async version of {@link #getGroups(UUID)}.
+     */
+    public CompletableFuture<List<PermissionGroup>> getGroupsAsync(UUID uuid) {
+        return CompletableFuture.completedFuture(getGroups(uuid));
+    }
+
+    /**
+     * Async version of {@link #setPrimaryGroup(PermissionGroup, UUID)}.
+     */
+    public CompletableFuture<Tristate> setPrimaryGroupAsync(PermissionGroup group, UUID uuid) {
+        return executor.supply(() -> setPrimaryGroup(group, uuid));
+    }
+
+    /**
+     * Async version of {@link #getPrimaryGroup(UUID)}.
+     */
+    public CompletableFuture<Optional<PermissionGroup>> getPrimaryGroupAsync(UUID uuid) {
+        return CompletableFuture.completedFuture(getPrimaryGroup(uuid));
+    }
+
+    /**
+     * Async version of {@link #updateCache(UUID)}.
+     */
+    public CompletableFuture<Void> updateCacheAsync(UUID uuid) {
+        return executor.run(() -> updateCache(uuid));
+    }
+
+    /**
+     * Async version of {@link #addGroupPermission(String, String[])}.
+     */
+    public CompletableFuture<Boolean> addGroupPermissionAsync(String group, String... permissions) {
+        return executor.supply(() -> addGroupPermission(group, permissions));
+    }
+
+    /**
+     * Async version of {@link #removeGroupPermission(String, String[])}.
+     */
+    public CompletableFuture<Boolean> removeGroupPermissionAsync(String group, String... permissions) {
+        return executor.supply(() -> removeGroupPermission(group, permissions));
+    }
+
+    /**
+     * Async version of {@link #hasGroupPermission(String, String)}.
+     */
+    public CompletableFuture<Boolean> hasGroupPermissionAsync(String group, String permission) {
+        return CompletableFuture.completedFuture(hasGroupPermission(group, permission));
+    }
+
+    /**
+     * Async version of {@link #addSuperAdmin(UUID)}.
+     */
+    public CompletableFuture<Void> addSuperAdminAsync(UUID uuid) {
+        return executor.run(() -> addSuperAdmin(uuid));
+    }
+
+    /**
+     * Async version of {@link #isSuperAdmin(UUID)}.
+     */
+    public CompletableFuture<Boolean> isSuperAdminAsync(UUID uuid) {
+        return CompletableFuture.completedFuture(isSuperAdmin(uuid));
+    }
+
+    /**
+     * Async version of {@link #removeSuperAdmin(UUID)}.
+     */
+    public CompletableFuture<Void> removeSuperAdminAsync(UUID uuid) {
+        return executor.run(() -> removeSuperAdmin(uuid));
+    }
+
+    /**
+     * Async version of {@link #setDefaultGroup(PermissionGroup)}.
+     */
+    public CompletableFuture<Void> setDefaultGroupAsync(PermissionGroup group) {
+        return executor.run(() -> setDefaultGroup(group));
+    }
+
+    /**
+     * Async version of {@link #createLadder(String)}.
+     */
+    public CompletableFuture<Tristate> createLadderAsync(String name) {
+        return executor.supply(() -> createLadder(name));
+    }
+
+    /**
+     * Async version of {@link #deleteLadder(String)}.
+     */
+    public CompletableFuture<Tristate> deleteLadderAsync(String name) {
+        return executor.supply(() -> deleteLadder(name));
+    }
+
+    /**
+     * Async version of {@link #setLadderLevel(String, PermissionGroup, int)}.
+     */
+    public CompletableFuture<Tristate> setLadderLevelAsync(String ladder, PermissionGroup group, int power) {
+        return executor.supply(() -> setLadderLevel(ladder, group, power));
+    }
+
+    /**
+     * Async version of {@link #removeFromLadder(String, PermissionGroup)}.
+     */
+    public CompletableFuture<Tristate> removeFromLadderAsync(String ladder, PermissionGroup group) {
+        return executor.supply(() -> removeFromLadder(ladder, group));
+    }
 }
\ No newline at end of file
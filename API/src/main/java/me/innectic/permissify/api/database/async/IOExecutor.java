@@ -0,0 +1,132 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.async;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * A bounded pool of threads for running database work off of the caller's thread. When the queue is full, new
+ * work fails straight away instead of piling up.
+ */
+public class IOExecutor {
+
+    @Getter private final int threads;
+    @Getter private final int queueSize;
+    private final ThreadPoolExecutor executor;
+
+    public IOExecutor(int threads, int queueSize) {
+        this("Permissify I/O", threads, queueSize);
+    }
+
+    /**
+     * @param name      what to name the threads, they're numbered after it
+     * @param threads   how many threads to run tasks on
+     * @param queueSize how many tasks can wait for a thread before new ones fail
+     */
+    public IOExecutor(String name, int threads, int queueSize) {
+        this.threads = Math.max(1, threads);
+        this.queueSize = Math.max(1, queueSize);
+
+        AtomicInteger created = new AtomicInteger();
+        executor = new ThreadPoolExecutor(this.threads, this.threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(this.queueSize), runnable -> {
+            Thread thread = new Thread(runnable, name + " #" + created.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Don't keep threads around when nothing's happening.
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Create an executor from the "async" section of the connection meta.
+     *
+     * @param meta the meta of the connection information
+     * @return the executor
+     */
+    public static IOExecutor fromMeta(Map<String, Object> meta) {
+        Map section = (Map) meta.getOrDefault("async", new HashMap<>());
+        return new IOExecutor(((Number) section.getOrDefault("threads", 4)).intValue(), ((Number) section.getOrDefault("queue-size", 1000)).intValue());
+    }
+
+    /**
+     * Run a task, and get its result later.
+     *
+     * @param task the task to run
+     * @return the future result of the task. Fails if the task throws, or if there's no room in the queue for it.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    /**
+     * Run a task.
+     *
+     * @param task the task to run
+     * @return completed once the task is done. Fails if the task throws, or if there's no room in the queue for it.
+     */
+    public CompletableFuture<Void> run(Runnable task) {
+        return supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Get how many tasks are waiting for a thread.
+     *
+     * @return the number of queued tasks
+     */
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stop taking new work, and wait a bit for what's already been given to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) executor.shutdownNow();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.async;
+
+import me.innectic.permissify.api.PermissifyAPI;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Runs tasks at a point in time, for things like expiring permissions. Tasks are kept in a hierarchical timing wheel:
+ * each level has {@value #SLOTS} slots, and each slot on a level covers as many ticks as the whole level below it.
+ * Scheduling and cancelling are O(1), and each tick only looks at one slot, no matter how many tasks are waiting.
+ * Tasks further out sit in a coarse slot on a higher level, and are moved down a level each time the level below
+ * wraps around to them.
+ *
+ * Tasks are keyed, so scheduling a key again replaces what was scheduled for it before. Tasks run on the wheel's own
+ * thread, one tick late at most.
+ */
+public class TimingWheel {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    // With one second ticks, six levels reach past two thousand years.
+    private static final int LEVELS = 6;
+
+    private static class Entry {
+        private final String key;
+        private final long tick;
+        private final Runnable task;
+        private boolean cancelled = false;
+
+        private Entry(String key, long tick, Runnable task) {
+            this.key = key;
+            this.tick = tick;
+            this.task = task;
+        }
+    }
+
+    private final long tickMillis;
+    private final List<List<Entry>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final Map<String, Entry> scheduled = new HashMap<>();
+    private final ScheduledExecutorService ticker;
+    // The next tick that hasn't been run yet.
+    private long nextTick;
+
+    public TimingWheel(long tickMillis) {
+        this.tickMillis = Math.max(1, tickMillis);
+        for (int i = 0; i < LEVELS * SLOTS; i++) slots.add(new ArrayList<>());
+        nextTick = System.currentTimeMillis() / this.tickMillis;
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Permissify Expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, this.tickMillis, this.tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedule a task, replacing anything already scheduled under the same key. A time that's already passed runs
+     * on the next tick.
+     *
+     * @param key  what the task is for
+     * @param at   when to run the task, in epoch milliseconds
+     * @param task the task
+     */
+    public synchronized void schedule(String key, long at, Runnable task) {
+        cancel(key);
+        // Round up, so a task never runs early.
+        Entry entry = new Entry(key, (at + tickMillis - 1) / tickMillis, task);
+        scheduled.put(key, entry);
+        place(entry);
+    }
+
+    /**
+     * Cancel whatever is scheduled under a key.
+     *
+     * @param key the key
+     * @return if anything was scheduled
+     */
+    public synchronized boolean cancel(String key) {
+        Entry entry = scheduled.remove(key);
+        if (entry == null) return false;
+        // Left in its slot, and skipped when the slot comes up.
+        entry.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Cancel everything.
+     */
+    public synchronized void clear() {
+        scheduled.values().forEach(entry -> entry.cancelled = true);
+        scheduled.clear();
+        slots.forEach(List::clear);
+    }
+
+    /**
+     * Get how many tasks are waiting to run.
+     *
+     * @return the number of scheduled tasks
+     */
+    public synchronized int size() {
+        return scheduled.size();
+    }
+
+    /**
+     * Stop the wheel. Nothing scheduled runs after this.
+     */
+    public void shutdown() {
+        ticker.shutdownNow();
+        clear();
+    }
+
+    private void place(Entry entry) {
+        long delta = entry.tick - nextTick;
+        if (delta < 0) {
+            slot(0, nextTick).add(entry);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (BITS * (level + 1))) {
+                slot(level, entry.tick).add(entry);
+                return;
+            }
+        }
+        // Further out than the wheel reaches. It goes as far as it can, and is placed again from there.
+        slot(LEVELS - 1, nextTick + (1L << (BITS * LEVELS)) - 1).add(entry);
+    }
+
+    private List<Entry> slot(int level, long tick) {
+        return slots.get(level * SLOTS + (int) ((tick >>> (BITS * level)) & MASK));
+    }
+
+    private void advance() {
+        long now = System.currentTimeMillis() / tickMillis;
+        List<Entry> due = new ArrayList<>();
+        synchronized (this) {
+            while (nextTick <= now) {
+                if ((nextTick & MASK) == 0) cascade(1);
+                List<Entry> slot = slot(0, nextTick);
+                for (Entry entry : slot) {
+                    if (entry.cancelled) continue;
+                    scheduled.remove(entry.key);
+                    due.add(entry);
+                }
+                slot.clear();
+                nextTick++;
+            }
+        }
+        // Run outside the lock, so tasks can schedule and cancel.
+        for (Entry entry : due) {
+            try {
+                entry.task.run();
+            } catch (RuntimeException e) {
+                PermissifyAPI.get().ifPresent(api -> api.getLogger().log(Level.WARNING, "Scheduled task " + entry.key + " failed.", e));
+            }
+        }
+    }
+
+    /**
+     * Move the current slot of a level down, now that the level below has wrapped around to it.
+     */
+    private void cascade(int level) {
+        if (level >= LEVELS) return;
+        long index = (nextTick >>> (BITS * level)) & MASK;
+        // This level wrapped around too, so the level above has to come down first.
+        if (index == 0) cascade(level + 1);
+        List<Entry> slot = slot(level, nextTick);
+        List<Entry> moving = new ArrayList<>(slot);
+        slot.clear();
+        for (Entry entry : moving) if (!entry.cancelled) place(entry);
+    }
+}
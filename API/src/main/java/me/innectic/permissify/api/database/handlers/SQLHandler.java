@@ -27,16 +27,36 @@ package me.innectic.permissify.api.database.handlers;
 import me.innectic.permissify.api.PermissifyAPI;
 import me.innectic.permissify.api.database.ConnectionError;
 import me.innectic.permissify.api.database.DatabaseHandler;
+import me.innectic.permissify.api.database.async.TimingWheel;
+import me.innectic.permissify.api.database.pool.ConnectionPool;
+import me.innectic.permissify.api.database.pool.PoolSettings;
+import me.innectic.permissify.api.database.queue.BatchLoader;
+import me.innectic.permissify.api.database.queue.PendingWrite;
+import me.innectic.permissify.api.database.queue.WriteBehindQueue;
+import me.innectic.permissify.api.database.schema.SQLDialect;
+import me.innectic.permissify.api.database.schema.SchemaMigrator;
+import me.innectic.permissify.api.database.schema.migrations.BaselineMigration;
+import me.innectic.permissify.api.database.schema.migrations.BinaryUUIDMigration;
+import me.innectic.permissify.api.database.schema.migrations.DeduplicateMigration;
+import me.innectic.permissify.api.database.schema.migrations.ExpiryMigration;
+import me.innectic.permissify.api.database.schema.migrations.LadderMigration;
+import me.innectic.permissify.api.permission.Ladder;
 import me.innectic.permissify.api.permission.Permission;
 import me.innectic.permissify.api.database.ConnectionInformation;
 import me.innectic.permissify.api.permission.PermissionGroup;
+import me.innectic.permissify.api.permission.PermissionSet;
+import me.innectic.permissify.api.permission.PlayerGroups;
 import me.innectic.permissify.api.profile.PermissifyProfile;
 import me.innectic.permissify.api.util.Tristate;
+import me.innectic.permissify.api.util.UUIDUtil;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 import java.util.logging.Level;
-import java.util.stream.Collectors;
 
 /**
  * @author Innectic
@@ -44,8 +64,31 @@ import java.util.stream.Collectors;
  */
 public class SQLHandler extends DatabaseHandler {
 
-    private boolean isUsingSQLite = false;
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final int MIGRATION_CHUNK_SIZE = 5000;
+    private static final long EXPIRY_TICK_MILLIS = 1000;
+    // How many times a load is read without the lock before it gives up and reads under it.
+    private static final int OPTIMISTIC_LOADS = 3;
+
+    private final SQLDialect dialect;
     private String baseConnectionUrl;
+    private final ConnectionPool pool;
+    private final WriteBehindQueue queue;
+    private final BatchLoader<UUID, PermissionSet> playerLoader;
+    // Every pending expiry, keyed the same as the row's writes.
+    private final TimingWheel expiries = new TimingWheel(EXPIRY_TICK_MILLIS);
+    // Bumped under the lock by every write a load running without the lock could miss: ones to players or groups
+    // that aren't cached, deleted groups, and reloads.
+    private long writeStamp = 0;
+
+    // Rebuilt during initialization, if the database turns out to be too old for upserts.
+    private String upsertPlayerPermission;
+    private String upsertGroup;
+    private String upsertGroupMember;
+    private String upsertGroupPermission;
+    private String upsertSuperAdmin;
+    private String upsertLadder;
+    private String upsertLadderLevel;
 
     public SQLHandler(ConnectionInformation connectionInformation) {
         super(connectionInformation);
@@ -57,24 +100,97 @@ public class SQLHandler extends DatabaseHandler {
             type = "sqlite";
             Map sqliteData = (Map) connectionInformation.getMeta().get("sqlite");
             databaseURL = (String) sqliteData.get("file");
-            isUsingSQLite = true;
+            dialect = SQLDialect.SQLITE;
         } else {
             type = "mysql";
             databaseURL = "//" + connectionInformation.getUrl() + ":" + connectionInformation.getPort();
+            dialect = SQLDialect.MYSQL;
         }
         baseConnectionUrl = "jdbc:" + type + ":" + databaseURL;
+        buildUpserts(true);
+
+        pool = new ConnectionPool(this::openConnection, PoolSettings.fromMeta(connectionInformation.getMeta()));
+
+        Map writeBehind = (Map) connectionInformation.getMeta().getOrDefault("write-behind", new HashMap<>());
+        queue = new WriteBehindQueue(pool, ((Number) writeBehind.getOrDefault("max-delay", 50)).longValue(),
+                ((Number) writeBehind.getOrDefault("batch-size", 500)).intValue());
+
+        Map batchLoad = (Map) connectionInformation.getMeta().getOrDefault("batch-load", new HashMap<>());
+        playerLoader = new BatchLoader<>("Permissify Loader", this::loadPlayers, ((Number) batchLoad.getOrDefault("window", 20)).longValue(),
+                ((Number) batchLoad.getOrDefault("batch-size", 250)).intValue());
+    }
+
+    /**
+     * Build the upserts used for writing.
+     *
+     * @param supported if the database understands real upserts, otherwise rows are replaced whole
+     */
+    private void buildUpserts(boolean supported) {
+        UpsertBuilder upsert = supported ? dialect::upsert : dialect::legacyUpsert;
+        upsertPlayerPermission = upsert.build("playerPermissions", new String[]{"uuid", "permission", "granted", "expiresAt"}, new String[]{"uuid", "permission"},
+                "granted", "expiresAt");
+        upsertGroup = upsert.build("groups", new String[]{"name", "displayName", "prefix", "suffix", "chatcolor", "defaultGroup"}, new String[]{"name"},
+                "displayName", "prefix", "suffix", "chatcolor");
+        upsertGroupMember = upsert.build("groupMembers", new String[]{"uuid", "`group`", "`primary`", "ladderPosition", "expiresAt"}, new String[]{"uuid", "`group`"},
+                "expiresAt");
+        upsertGroupPermission = upsert.build("groupPermissions", new String[]{"groupName", "permission"}, new String[]{"groupName", "permission"});
+        upsertSuperAdmin = upsert.build("superAdmin", new String[]{"uuid"}, new String[]{"uuid"});
+        upsertLadder = upsert.build("ladders", new String[]{"name"}, new String[]{"name"});
+        upsertLadderLevel = upsert.build("ladderLevels", new String[]{"ladder", "name", "power"}, new String[]{"ladder", "name"}, "power");
+    }
+
+    private interface UpsertBuilder {
+        String build(String table, String[] columns, String[] keys, String... updates);
+    }
+
+    private interface Load<T, E extends Exception> {
+        T read() throws E;
+    }
+
+    /**
+     * Read from the database without holding the handler's lock, so writes never wait on it, then apply what was read
+     * under the lock. If a write the read could have missed happened in between, the read is done again. After a few
+     * tries it's done under the lock, so a steady stream of writes can't starve it.
+     *
+     * @param load  reads from the database
+     * @param apply merges what was read into the caches, called while holding the lock
+     * @return what apply returned
+     */
+    private <T, R, E extends Exception> R loadOptimistically(Load<T, E> load, Function<T, R> apply) throws E {
+        for (int attempt = 0; attempt < OPTIMISTIC_LOADS; attempt++) {
+            long stamp;
+            synchronized (this) {
+                stamp = writeStamp;
+            }
+            T read = load.read();
+            synchronized (this) {
+                if (writeStamp == stamp) return apply.apply(read);
+            }
+        }
+        synchronized (this) {
+            return apply.apply(load.read());
+        }
     }
 
     /**
-     * Get a connection to the mysql server.
+     * Open a new physical connection to the database. Only the pool should be calling this.
+     *
+     * @return the new connection
+     */
+    private Connection openConnection() throws SQLException {
+        if (dialect == SQLDialect.SQLITE) return DriverManager.getConnection(baseConnectionUrl);
+        String connectionURL = baseConnectionUrl + "/" + connectionInformation.getDatabase();
+        return DriverManager.getConnection(connectionURL, connectionInformation.getUsername(), connectionInformation.getPassword());
+    }
+
+    /**
+     * Borrow a connection to the database from the pool. Closing the connection returns it to the pool.
      *
      * @return an optional connection, filled if successful.
      */
     private Optional<Connection> getConnection() {
         try {
-            if (isUsingSQLite) return Optional.ofNullable(DriverManager.getConnection(baseConnectionUrl));
-            String connectionURL = baseConnectionUrl + "/" + connectionInformation.getDatabase();
-            return Optional.ofNullable(DriverManager.getConnection(connectionURL, connectionInformation.getUsername(), connectionInformation.getPassword()));
+            return Optional.of(pool.borrow());
         } catch (SQLException e) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.of(e)));
             e.printStackTrace();
@@ -85,76 +201,37 @@ public class SQLHandler extends DatabaseHandler {
     @Override
     public void initialize() {
         // Make sure that the cache is empty
-        this.cachedPermissions = new HashMap<>();
+        this.cachedPermissions = new ConcurrentHashMap<>();
 
-        try {
-            Connection connection;
-            if (isUsingSQLite) connection = DriverManager.getConnection(baseConnectionUrl);
-            else connection = DriverManager.getConnection(baseConnectionUrl, connectionInformation.getUsername(), connectionInformation.getPassword());
-            if (connection == null) {
-                System.out.println("Could not connect to database during initialization.");
-                PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
+        if (dialect == SQLDialect.MYSQL) {
+            // The pool connects straight to our database, so it has to exist before the pool can be used.
+            try (Connection connection = DriverManager.getConnection(baseConnectionUrl, connectionInformation.getUsername(), connectionInformation.getPassword());
+                 PreparedStatement statement = connection.prepareStatement("CREATE DATABASE IF NOT EXISTS " + connectionInformation.getDatabase())) {
+                statement.execute();
+            } catch (SQLException e) {
+                PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.of(e)));
+                e.printStackTrace();
                 return;
             }
+        }
 
-            String database = connectionInformation.getDatabase();
+        Optional<Connection> borrowed = getConnection();
+        if (!borrowed.isPresent()) {
+            PermissifyAPI.get().ifPresent(api -> api.getLogger().log(Level.SEVERE, "Could not connect to database during initialization."));
+            return;
+        }
 
-            if (!isUsingSQLite) {
-                PreparedStatement statement = connection.prepareStatement("CREATE DATABASE IF NOT EXISTS " + database);
-                statement.execute();
-                statement.close();
-                database += ".";
-            } else database = "";
-
-            PreparedStatement groupMembersStatement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " + database +
-                    "groupMembers (uuid VARCHAR(767) NOT NULL, `group` VARCHAR(700) NOT NULL, `primary` TINYINT NOT NULL, ladderPosition INTEGER NOT NULL)");
-            groupMembersStatement.execute();
-            groupMembersStatement.close();
-
-            PreparedStatement groupPermissionsStatement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " + database +"groupPermissions (groupName VARCHAR(767) NOT NULL, permission VARCHAR(767) NOT NULL)");
-            groupPermissionsStatement.execute();
-            groupPermissionsStatement.close();
-
-            PreparedStatement groupsStatement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " + database +
-                    "groups (name VARCHAR(100) NOT NULL UNIQUE, displayName VARCHAR(100) NOT NULL, prefix VARCHAR(100) NOT NULL, suffix VARCHAR(100) NOT NULL, chatcolor VARCHAR(4) NOT NULL, defaultGroup TINYINT NOT NULL, ladder VARCHAR(767))");
-            groupsStatement.execute();
-            groupsStatement.close();
-
-            PreparedStatement playerPermissionsStatement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " + database + "playerPermissions (uuid VARCHAR(767) NOT NULL, permission VARCHAR(767) NOT NULL, granted TINYINT NOT NULL)");
-            playerPermissionsStatement.execute();
-            playerPermissionsStatement.close();
-
-            PreparedStatement superAdminStatement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " + database + "superAdmin (uuid VARCHAR(767) NOT NULL)");
-            superAdminStatement.execute();
-            superAdminStatement.close();
-
-            PreparedStatement ladderStatement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " + database + "ladders (name VARCHAR(767))");
-            ladderStatement.execute();
-            ladderStatement.close();
-
-            PreparedStatement ladderLevelStatement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " + database + "ladderLevels (ladder VARCHAR(767), name VARCHAR(767), power INTEGER)");
-            ladderLevelStatement.execute();
-            ladderLevelStatement.close();
-
-            if (!hasFormattingTable(connection, database)) {
-                PreparedStatement formattingStatement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " + database + "formatting (`format` VARCHAR(400) NOT NULL, formatter VARCHAR(200) NOT NULL)");
-                formattingStatement.execute();
-                formattingStatement.close();
-
-                PreparedStatement defaultChatFormat = connection.prepareStatement("INSERT INTO " + database + "formatting (`format`, formatter) VALUES (?,?)");
-                defaultChatFormat.setString(1, "{group} {username}: {message}");
-                defaultChatFormat.setString(2, "chat");
-                defaultChatFormat.execute();
-                defaultChatFormat.close();
-
-                PreparedStatement defaultWhisperFormat = connection.prepareStatement("INSERT INTO " + database + "formatting (`format`, formatter) VALUES (?,?)");
-                defaultWhisperFormat.setString(1, "{senderGroup} {username} > {receiverGroup} {to}: {message}");
-                defaultWhisperFormat.setString(2, "whisper");
-                defaultWhisperFormat.execute();
-                defaultWhisperFormat.close();
+        SchemaMigrator migrator = new SchemaMigrator(dialect, connectionInformation.getDatabase(), MIGRATION_CHUNK_SIZE, this::openConnection,
+                Arrays.asList(new BaselineMigration(), new BinaryUUIDMigration(), new DeduplicateMigration(), new LadderMigration(),
+                new ExpiryMigration()));
+        try (Connection connection = borrowed.get()) {
+            if (!dialect.supportsUpsert(connection)) {
+                String version = dialect.getVersion(connection);
+                PermissifyAPI.get().ifPresent(api -> api.getLogger().warning("SQLite " + version + " doesn't support upserts, replacing rows instead. Updating the server will fix this."));
+                buildUpserts(false);
             }
-
-            connection.close();
+            if (!migrator.migrate(connection))
+                PermissifyAPI.get().ifPresent(api -> api.getLogger().log(Level.SEVERE, "Could not bring the database schema up to date!"));
         } catch (SQLException e) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
             e.printStackTrace();
@@ -162,86 +239,239 @@ public class SQLHandler extends DatabaseHandler {
     }
 
     @Override
-    public void reload(List<UUID> onlinePlayers) {
-        cachedGroups = new HashMap<>();
-        cachedPermissions = new HashMap<>();
-        superAdmins = new ArrayList<>();
+    public void shutdown() {
+        // Everything still queued has to make it out before the connections go away.
+        expiries.shutdown();
+        executor.shutdown();
+        playerLoader.shutdown();
+        queue.shutdown();
+        pool.shutdown();
+    }
+
+    @Override
+    public int getPendingWrites() {
+        return queue.getQueueDepth();
+    }
+
+    @Override
+    public synchronized void reload(List<UUID> onlinePlayers) {
+        // Make sure we're reloading what we've actually written.
+        queue.flush();
 
+        sweepExpiries();
         loadSuperAdmins();
         loadGroups();
+        loadLadders();
+        loadFormats();
+
+        Map<UUID, PermissionSet> permissions = new ConcurrentHashMap<>();
+        Optional<Connection> borrowed = getConnection();
+        if (borrowed.isPresent()) {
+            try (Connection connection = borrowed.get()) {
+                for (int start = 0; start < onlinePlayers.size(); start += playerLoader.getBatchSize()) {
+                    List<UUID> batch = onlinePlayers.subList(start, Math.min(onlinePlayers.size(), start + playerLoader.getBatchSize()));
+                    permissions.putAll(loadPermissions(connection, batch));
+                }
+            } catch (SQLException e) {
+                PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
+                e.printStackTrace();
+            }
+        }
+        cachedPermissions = permissions;
+        invalidateAll();
+        writeStamp++;
+    }
+
+    /**
+     * Delete everything that expired while we weren't running, and schedule everything that hasn't expired yet.
+     * Each table takes one range query over its expiry index each way.
+     */
+    private void sweepExpiries() {
+        Optional<Connection> borrowed = getConnection();
+        if (!borrowed.isPresent()) return;
+
+        long now = System.currentTimeMillis();
+        expiries.clear();
+        try (Connection connection = borrowed.get()) {
+            int expiredPermissions;
+            int expiredMemberships;
+            try (PreparedStatement permissions = connection.prepareStatement("DELETE FROM playerPermissions WHERE expiresAt <= ?");
+                 PreparedStatement memberships = connection.prepareStatement("DELETE FROM groupMembers WHERE expiresAt <= ?")) {
+                permissions.setLong(1, now);
+                memberships.setLong(1, now);
+                expiredPermissions = permissions.executeUpdate();
+                expiredMemberships = memberships.executeUpdate();
+            }
 
-        onlinePlayers.forEach(this::getPermissions);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT uuid,permission,expiresAt FROM playerPermissions WHERE expiresAt > ?")) {
+                statement.setLong(1, now);
+                try (ResultSet results = stream(statement).executeQuery()) {
+                    while (results.next()) {
+                        schedulePermissionExpiry(UUIDUtil.fromBytes(results.getBytes("uuid")), results.getString("permission"), results.getLong("expiresAt"));
+                    }
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement("SELECT uuid,`group`,expiresAt FROM groupMembers WHERE expiresAt > ?")) {
+                statement.setLong(1, now);
+                try (ResultSet results = stream(statement).executeQuery()) {
+                    while (results.next()) {
+                        scheduleMembershipExpiry(UUIDUtil.fromBytes(results.getBytes("uuid")), results.getString("group"), results.getLong("expiresAt"));
+                    }
+                }
+            }
+            if (expiredPermissions > 0 || expiredMemberships > 0)
+                PermissifyAPI.get().ifPresent(api -> api.getLogger().info("Removed " + expiredPermissions + " permissions and " +
+                        expiredMemberships + " group memberships that expired while offline."));
+        } catch (SQLException e) {
+            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
+            e.printStackTrace();
+        }
+    }
+
+    private void schedulePermissionExpiry(UUID uuid, String permission, long expiresAt) {
+        expiries.schedule(permissionKey(uuid, permission), expiresAt, () -> {
+            removePermission(uuid, permission);
+            expired(uuid);
+        });
+    }
+
+    private void scheduleMembershipExpiry(UUID uuid, String group, long expiresAt) {
+        expiries.schedule(memberKey(uuid, group), expiresAt, () -> {
+            getGroup(group).ifPresent(expiring -> removePlayerFromGroup(uuid, expiring));
+            expired(uuid);
+        });
     }
 
     @Override
     protected void loadGroups() {
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
+        Optional<Connection> borrowed = getConnection();
+        if (!borrowed.isPresent()) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
             return;
         }
 
-        try {
-            PreparedStatement groupStatement = connection.get().prepareStatement("SELECT * from groups");
-            ResultSet groupResults = groupStatement.executeQuery();
-            while (groupResults.next()) {
-                String groupName = groupResults.getString("name");
-                String displayName = groupResults.getString("displayName");
-                PermissionGroup group = new PermissionGroup(groupName,
-                        displayName,
-                        groupResults.getString("chatcolor"),
-                        groupResults.getString("prefix"),
-                        groupResults.getString("suffix"));
+        long start = System.currentTimeMillis();
+        // Load every table in one pass each, instead of two queries per group, and stitch the groups together here.
+        Map<String, PermissionGroup> loaded = new ConcurrentHashMap<>();
+        Optional<PermissionGroup> loadedDefault = Optional.empty();
+        try (Connection connection = borrowed.get()) {
+            try (PreparedStatement groupStatement = connection.prepareStatement("SELECT name,displayName,prefix,suffix,chatcolor,defaultGroup FROM groups");
+                 ResultSet groupResults = stream(groupStatement).executeQuery()) {
+                while (groupResults.next()) {
+                    String groupName = groupResults.getString("name");
+                    PermissionGroup group = new PermissionGroup(groupName,
+                            groupResults.getString("displayName"),
+                            groupResults.getString("chatcolor"),
+                            groupResults.getString("prefix"),
+                            groupResults.getString("suffix"));
+                    loaded.put(normalizeGroupName(groupName), group);
 
-                PreparedStatement groupPermissionsStatement = connection.get().prepareStatement("SELECT * FROM groupPermissions WHERE groupName=?");
-                groupPermissionsStatement.setString(1, group.getName());
-                ResultSet groupPermissionsResult = groupPermissionsStatement.executeQuery();
+                    if (groupResults.getBoolean("defaultGroup")) loadedDefault = Optional.of(group);
+                }
+            }
 
+            try (PreparedStatement groupPermissionsStatement = connection.prepareStatement("SELECT groupName,permission FROM groupPermissions");
+                 ResultSet groupPermissionsResult = stream(groupPermissionsStatement).executeQuery()) {
+                // Collect each group's nodes first, so every group's set is only built once.
+                Map<PermissionGroup, List<Permission>> groupPermissions = new HashMap<>();
                 while (groupPermissionsResult.next()) {
-                    group.addPermission(groupPermissionsResult.getString("permission"));
+                    PermissionGroup group = loaded.get(normalizeGroupName(groupPermissionsResult.getString("groupName")));
+                    if (group != null) groupPermissions.computeIfAbsent(group, g -> new ArrayList<>())
+                            .add(new Permission(groupPermissionsResult.getString("permission"), true));
                 }
-                groupPermissionsResult.close();
-                groupPermissionsStatement.close();
-
-                PreparedStatement groupMembersStatement = connection.get().prepareStatement("SELECT uuid,`primary` FROM groupMembers WHERE `group`=?");
-                groupMembersStatement.setString(1, group.getName());
+                groupPermissions.forEach(PermissionGroup::addPermissions);
+            }
 
-                ResultSet groupMembersResults = groupMembersStatement.executeQuery();
+            try (PreparedStatement groupMembersStatement = connection.prepareStatement("SELECT uuid,`group`,`primary` FROM groupMembers");
+                 ResultSet groupMembersResults = stream(groupMembersStatement).executeQuery()) {
                 while (groupMembersResults.next()) {
-                    group.addPlayer(UUID.fromString(groupMembersResults.getString("uuid")), groupMembersResults.getBoolean("primary"));
+                    PermissionGroup group = loaded.get(normalizeGroupName(groupMembersResults.getString("group")));
+                    if (group != null) group.addPlayer(UUIDUtil.fromBytes(groupMembersResults.getBytes("uuid")), groupMembersResults.getBoolean("primary"));
                 }
+            }
+        } catch (SQLException e) {
+            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
+            e.printStackTrace();
+            return;
+        }
+        // Only publish the groups once they're complete.
+        cachedGroups = loaded;
+        memberships = indexMembers(loaded.values());
+        defaultGroup = loadedDefault;
+        invalidateAll();
+        long taken = System.currentTimeMillis() - start;
+        PermissifyAPI.get().ifPresent(api -> api.getLogger().info("Loaded " + loaded.size() + " groups in " + taken + " ms."));
+    }
 
-                groupMembersResults.close();
-                groupMembersStatement.close();
-                cachedGroups.put(groupName, group);
-
-                if (groupResults.getBoolean("defaultGroup")) defaultGroup = Optional.of(group);
+    @Override
+    protected void loadLadders() {
+        Optional<Connection> borrowed = getConnection();
+        if (!borrowed.isPresent()) {
+            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
+            return;
+        }
+        Map<String, Ladder> loaded = new ConcurrentHashMap<>();
+        try (Connection connection = borrowed.get()) {
+            try (PreparedStatement ladderStatement = connection.prepareStatement("SELECT name FROM ladders");
+                 ResultSet ladderResults = ladderStatement.executeQuery()) {
+                while (ladderResults.next()) {
+                    String name = ladderResults.getString("name");
+                    loaded.put(normalizeGroupName(name), new Ladder(name));
+                }
+            }
+            try (PreparedStatement levelStatement = connection.prepareStatement("SELECT ladder,name,power FROM ladderLevels");
+                 ResultSet levelResults = levelStatement.executeQuery()) {
+                while (levelResults.next()) {
+                    String key = normalizeGroupName(levelResults.getString("ladder"));
+                    Ladder ladder = loaded.get(key);
+                    if (ladder != null) loaded.put(key, ladder.with(levelResults.getString("name"), levelResults.getInt("power")));
+                }
             }
-            groupResults.close();
-            groupStatement.close();
         } catch (SQLException e) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
             e.printStackTrace();
+            return;
         }
+        publishLadders(loaded);
     }
 
     @Override
     protected void loadSuperAdmins() {
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
+        Optional<Connection> borrowed = getConnection();
+        if (!borrowed.isPresent()) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
             return;
         }
-        try {
-            // Load all super admins
-            PreparedStatement adminStatement = connection.get().prepareStatement("SELECT uuid FROM superAdmin");
-            ResultSet adminResults = adminStatement.executeQuery();
+        // Load all super admins
+        List<UUID> loaded = new ArrayList<>();
+        try (Connection connection = borrowed.get();
+             PreparedStatement adminStatement = connection.prepareStatement("SELECT uuid FROM superAdmin");
+             ResultSet adminResults = adminStatement.executeQuery()) {
             while (adminResults.next()) {
-                superAdmins.add(UUID.fromString(adminResults.getString("uuid")));
+                loaded.add(UUIDUtil.fromBytes(adminResults.getBytes("uuid")));
+            }
+            superAdmins = new CopyOnWriteArrayList<>(loaded);
+        } catch (SQLException e) {
+            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    protected void loadFormats() {
+        Optional<Connection> borrowed = getConnection();
+        if (!borrowed.isPresent()) {
+            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
+            return;
+        }
+        Map<String, String> loaded = new HashMap<>();
+        try (Connection connection = borrowed.get();
+             PreparedStatement formatStatement = connection.prepareStatement("SELECT `format`,formatter FROM formatting");
+             ResultSet formatResults = formatStatement.executeQuery()) {
+            while (formatResults.next()) {
+                loaded.put(formatResults.getString("formatter"), formatResults.getString("format"));
             }
-            adminResults.close();
-            adminStatement.close();
-            connection.get().close();
+            formats = Collections.unmodifiableMap(loaded);
         } catch (SQLException e) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
             e.printStackTrace();
@@ -249,14 +479,19 @@ public class SQLHandler extends DatabaseHandler {
     }
 
     @Override
-    public void drop() {
-        cachedGroups = new HashMap<>();
-        cachedPermissions = new HashMap<>();
-        superAdmins = new ArrayList<>();
+    public synchronized void drop() {
+        cachedGroups = new ConcurrentHashMap<>();
+        cachedPermissions = new ConcurrentHashMap<>();
+        superAdmins = new CopyOnWriteArrayList<>();
+        memberships = new ConcurrentHashMap<>();
+        formats = Collections.emptyMap();
+        expiries.clear();
+        publishLadders(new ConcurrentHashMap<>());
+        writeStamp++;
     }
 
     @Override
-    public void loadProfile(PermissifyProfile profile) {
+    public synchronized void loadProfile(PermissifyProfile profile) {
         // Load player permissions
         profile.getPlayerPermissions().forEach((uuid, permissions) -> permissions.forEach(permission -> {
             if (!permission.isGranted()) addPermission(uuid, permission.getPermission());
@@ -276,99 +511,79 @@ public class SQLHandler extends DatabaseHandler {
                 else created.get().removePermission(permission.getPermission());
             });
             // Add the players to the group
-            group.getPlayers().forEach(created.get()::addPlayer);
+            group.getPlayers().forEach((uuid, primary) -> {
+                if (primary) setPrimaryGroup(created.get(), uuid);
+                else addPlayerToGroup(uuid, created.get());
+            });
         });
-        superAdmins = profile.getSuperAdmins();
+        // Profiles from before ladders don't have any.
+        if (profile.getLadders() != null) profile.getLadders().values().forEach(ladder -> {
+            createLadder(ladder.getName());
+            ladder.getLevels().forEach((group, power) -> getGroup(group).ifPresent(level -> setLadderLevel(ladder.getName(), level, power)));
+        });
+        superAdmins = new CopyOnWriteArrayList<>(profile.getSuperAdmins());
         defaultGroup = Optional.ofNullable(profile.getDefaultGroup());
+        invalidateAll();
     }
 
     @Override
-    public void addPermission(UUID uuid, String... permissions) {
-        // Put the permissions into the cache
-        List<Permission> playerPermissions = cachedPermissions.getOrDefault(uuid, new ArrayList<>());
+    public synchronized void addPermission(UUID uuid, String... permissions) {
+        addPermission(uuid, null, permissions);
+    }
 
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return;
-        }
+    @Override
+    public synchronized void addTimedPermission(UUID uuid, long expiresAt, String... permissions) {
+        addPermission(uuid, expiresAt, permissions);
+    }
+
+    private void addPermission(UUID uuid, Long expiresAt, String... permissions) {
+        if (!cachedPermissions.containsKey(uuid)) writeStamp++;
+        List<Permission> added = new ArrayList<>();
         for (String permission : permissions) {
-            Permission perm = new Permission(permission, true);
-            playerPermissions.add(perm);
-
-            try {
-                PreparedStatement statement = connection.get().prepareStatement("INSERT INTO playerPermissions (uuid,permission,granted) VALUES (?,?,?)");
-                statement.setString(1, uuid.toString());
-                statement.setString(2, permission);
-                statement.setBoolean(3, true);
-                statement.execute();
-                statement.close();
-                connection.get().close();
-            } catch (SQLException e) {
-                PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
-                e.printStackTrace();
-                return;
-            }
+            added.add(new Permission(permission, true));
+            queue.submit(PendingWrite.add(permissionKey(uuid, permission), upsertPlayerPermission, UUIDUtil.toBytes(uuid), permission, true, expiresAt));
+            if (expiresAt == null) expiries.cancel(permissionKey(uuid, permission));
+            else schedulePermissionExpiry(uuid, permission, expiresAt);
         }
-        cachedPermissions.put(uuid, playerPermissions);
+        // Only update the cache if it's loaded, otherwise it'd end up holding nothing but these.
+        cachedPermissions.computeIfPresent(uuid, (key, cached) -> cached.with(added));
+        invalidatePlayer(uuid);
     }
 
     @Override
-    public void removePermission(UUID uuid, String... permissions) {
+    public synchronized void removePermission(UUID uuid, String... permissions) {
+        if (!cachedPermissions.containsKey(uuid)) writeStamp++;
         for (String permission : permissions) {
-            // Remove from cache
-            List<Permission> playerPermissions = cachedPermissions.getOrDefault(uuid, new ArrayList<>());
-            playerPermissions.removeIf(perm -> perm.getPermission().equals(permission));
-            cachedPermissions.put(uuid, playerPermissions);
-            // Attempt to remove from MySQL
-            Optional<Connection> connection = getConnection();
-            if (!connection.isPresent()) {
-                PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-                return;
-            }
-
-            try {
-                PreparedStatement statement = connection.get().prepareStatement("DELETE FROM playerPermissions WHERE uuid=? AND permission=?");
-                statement.setString(1, uuid.toString());
-                statement.setString(2, permission);
-
-                statement.execute();
-                statement.close();
-                connection.get().close();
-            } catch (SQLException e) {
-                PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
-                e.printStackTrace();
-            }
+            expiries.cancel(permissionKey(uuid, permission));
+            queue.submit(PendingWrite.remove(permissionKey(uuid, permission),
+                    "DELETE FROM playerPermissions WHERE uuid=? AND permission=?", UUIDUtil.toBytes(uuid), permission));
         }
+        // Remove from cache
+        cachedPermissions.computeIfPresent(uuid, (key, cached) -> cached.without(permissions));
+        invalidatePlayer(uuid);
     }
 
     @Override
     public boolean isGrantedPermission(UUID uuid, String permission) {
         // Check the cache first
-        if (cachedPermissions.containsKey(uuid))
-            return cachedPermissions.get(uuid).stream()
-                    .filter(entry -> entry.getPermission().equals(permission))
-                    .allMatch(Permission::isGranted);
+        PermissionSet cached = cachedPermissions.get(uuid);
+        if (cached != null) return cached.isGranted(permission);
         // Cache didn't have it, see if the database does.
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
+        queue.flush();
+        Optional<Connection> borrowed = getConnection();
+        if (!borrowed.isPresent()) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
             return false;
         }
 
-        try {
-            PreparedStatement statement = connection.get().prepareStatement("SELECT granted FROM playerPermissions WHERE uuid=? AND permission=?");
-            statement.setString(1, uuid.toString());
+        try (Connection connection = borrowed.get();
+             PreparedStatement statement = connection.prepareStatement("SELECT granted FROM playerPermissions WHERE uuid=? AND permission=?")) {
+            statement.setBytes(1, UUIDUtil.toBytes(uuid));
             statement.setString(2, permission);
             // Does the player have the permission for this?
-            ResultSet results = statement.executeQuery();
-            boolean granted = false;
-            if (results.next()) granted = results.getBoolean("granted");
-            // Cleanup
-            results.close();
-            statement.close();
-            connection.get().close();
-            return granted;
+            try (ResultSet results = statement.executeQuery()) {
+                return results.next() && results.getBoolean("granted");
+            }
         } catch (SQLException e) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
             e.printStackTrace();
@@ -378,164 +593,228 @@ public class SQLHandler extends DatabaseHandler {
 
     @Override
     public boolean hasPermission(UUID uuid, String permission) {
-        return cachedPermissions.containsKey(uuid) && cachedPermissions.get(uuid).stream().filter(entry -> entry.getPermission().equals(permission)).count() == 1;
+        PermissionSet cached = cachedPermissions.get(uuid);
+        return cached != null && cached.contains(permission);
     }
 
     @Override
-    public List<Permission> getPermissions(UUID uuid) {
-        if (cachedPermissions.containsKey(uuid)) return cachedPermissions.get(uuid);
-        Optional<Connection> connection = getConnection();
-        List<Permission> permissions = new ArrayList<>();
+    public PermissionSet getPermissions(UUID uuid) {
+        PermissionSet cached = cachedPermissions.get(uuid);
+        if (cached != null) return cached;
+        // A player that got cached while loading is kept up to date by every write, so it wins over what was read.
+        Optional<PermissionSet> loaded = loadOptimistically(() -> loadPermissions(uuid),
+                read -> read.map(permissions -> cachedPermissions.computeIfAbsent(uuid, key -> permissions)));
+        return loaded.orElse(PermissionSet.EMPTY);
+    }
 
-        if (!connection.isPresent()) {
+    /**
+     * Load a player's permissions from the database.
+     *
+     * @param uuid the uuid of the player
+     * @return the player's permissions, empty if they couldn't be loaded
+     */
+    private Optional<PermissionSet> loadPermissions(UUID uuid) {
+        // Anything still queued for this player has to be written before we can read it back.
+        queue.flush();
+        Optional<Connection> borrowed = getConnection();
+        if (!borrowed.isPresent()) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return permissions;
+            return Optional.empty();
         }
-        try {
-            PreparedStatement statement = connection.get().prepareStatement("SELECT permission,granted FROM playerPermissions WHERE uuid=?");
-            statement.setString(1, uuid.toString());
-            ResultSet results = statement.executeQuery();
-
-            while (results.next()) {
-                permissions.add(new Permission(results.getString("permission"), results.getBoolean("granted")));
+        try (Connection connection = borrowed.get();
+             PreparedStatement statement = connection.prepareStatement("SELECT permission,granted FROM playerPermissions WHERE uuid=?")) {
+            statement.setBytes(1, UUIDUtil.toBytes(uuid));
+            List<Permission> permissions = new ArrayList<>();
+            try (ResultSet results = statement.executeQuery()) {
+                while (results.next()) {
+                    permissions.add(new Permission(results.getString("permission"), results.getBoolean("granted")));
+                }
             }
-            // Cleanup
-            results.close();
-            statement.close();
-            connection.get().close();
-            cachedPermissions.put(uuid, permissions);
-            return permissions;
+            return Optional.of(PermissionSet.of(permissions));
         } catch (SQLException e) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
             e.printStackTrace();
         }
-        return new ArrayList<>();
+        return Optional.empty();
     }
 
-    @Override
-    public Tristate createGroup(String name, String displayName, String prefix, String suffix, String chatColor) {
-        // Make sure that this group doesn't already exist
-        if (cachedGroups.getOrDefault(name, null) != null) return Tristate.NONE;
-        // Add the new group to the cache
-        cachedGroups.put(name, new PermissionGroup(name, displayName, chatColor, prefix, suffix));
-
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return Tristate.FALSE;
+    /**
+     * Load the permissions of many players with one query.
+     *
+     * @param connection the connection to load with
+     * @param uuids      the players to load, no more than the batch size
+     * @return every player's permissions, empty for players without any
+     */
+    private Map<UUID, PermissionSet> loadPermissions(Connection connection, List<UUID> uuids) throws SQLException {
+        Map<UUID, List<Permission>> permissions = new HashMap<>();
+        uuids.forEach(uuid -> permissions.put(uuid, new ArrayList<>()));
+        try (PreparedStatement statement = connection.prepareStatement("SELECT uuid,permission,granted FROM playerPermissions WHERE uuid IN (" + placeholders(uuids.size()) + ")")) {
+            bindUUIDs(statement, uuids);
+            try (ResultSet results = statement.executeQuery()) {
+                while (results.next()) {
+                    permissions.get(UUIDUtil.fromBytes(results.getBytes("uuid")))
+                            .add(new Permission(results.getString("permission"), results.getBoolean("granted")));
+                }
+            }
         }
+        Map<UUID, PermissionSet> loaded = new HashMap<>();
+        permissions.forEach((uuid, list) -> loaded.put(uuid, PermissionSet.of(list)));
+        return loaded;
+    }
 
-        try {
-            PreparedStatement statement = connection.get().prepareStatement("INSERT INTO groups (name,displayName,prefix,suffix,chatcolor,defaultGroup) VALUES (?,?,?,?,?,?)");
-            statement.setString(1, name);
-            statement.setString(2, displayName);
-            statement.setString(3, prefix);
-            statement.setString(4, suffix);
-            statement.setString(5, chatColor);
-            statement.setBoolean(6, false);
-            // Cleanup
-            statement.execute();
-            statement.close();
-            connection.get().close();
+    /**
+     * Load a batch of players into the cache: their permissions, and any of their groups we don't have yet. This is
+     * what {@link #loadPlayerAsync(UUID)} resolves with, so players joining together are loaded together.
+     *
+     * @param uuids the players to load
+     * @return every player's permissions
+     */
+    private Map<UUID, PermissionSet> loadPlayers(List<UUID> uuids) throws SQLException {
+        return loadOptimistically(() -> readPlayers(uuids), read -> {
+            read.groups.forEach(this::installGroup);
+            Map<UUID, PermissionSet> loaded = new HashMap<>();
+            read.permissions.forEach((uuid, set) -> {
+                // A cached player is kept up to date by every write, so it's never older than what we just read.
+                loaded.put(uuid, cachedPermissions.computeIfAbsent(uuid, key -> set));
+                invalidatePlayer(uuid);
+            });
+            return loaded;
+        });
+    }
+
+    /**
+     * Read a batch of players from the database, without touching the caches.
+     *
+     * @param uuids the players to read
+     * @return their permissions, and any of their groups we don't have yet
+     */
+    private PlayersRead readPlayers(List<UUID> uuids) throws SQLException {
+        // Anything still queued for these players has to be written before we can read it back.
+        queue.flush();
+        Optional<Connection> borrowed = getConnection();
+        if (!borrowed.isPresent()) throw new SQLException("Could not borrow a connection to load " + uuids.size() + " players.");
+        try (Connection connection = borrowed.get()) {
+            Map<UUID, PermissionSet> permissions = loadPermissions(connection, uuids);
+
+            Set<String> groups = new HashSet<>();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT DISTINCT `group` FROM groupMembers WHERE uuid IN (" + placeholders(uuids.size()) + ")")) {
+                bindUUIDs(statement, uuids);
+                try (ResultSet results = statement.executeQuery()) {
+                    while (results.next()) groups.add(results.getString("group"));
+                }
+            }
+            List<PermissionGroup> missing = new ArrayList<>();
+            for (String group : groups) {
+                // Get the group from the database, if we don't have have it already
+                if (!getGroup(group).isPresent()) readGroup(connection, group).ifPresent(missing::add);
+            }
+            return new PlayersRead(permissions, missing);
         } catch (SQLException e) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
             e.printStackTrace();
+            throw e;
+        }
+    }
+
+    private static class PlayersRead {
+        private final Map<UUID, PermissionSet> permissions;
+        private final List<PermissionGroup> groups;
+
+        private PlayersRead(Map<UUID, PermissionSet> permissions, List<PermissionGroup> groups) {
+            this.permissions = permissions;
+            this.groups = groups;
         }
+    }
 
+    @Override
+    public CompletableFuture<PermissionSet> loadPlayerAsync(UUID uuid) {
+        return playerLoader.load(uuid);
+    }
+
+    @Override
+    public synchronized Tristate createGroup(String name, String displayName, String prefix, String suffix, String chatColor) {
+        // Make sure that this group doesn't already exist
+        if (getGroup(name).isPresent()) return Tristate.NONE;
+        // Add the new group to the cache
+        cachedGroups.put(normalizeGroupName(name), new PermissionGroup(name, displayName, chatColor, prefix, suffix));
+
+        queue.submit(PendingWrite.add("groups:" + name,
+                upsertGroup, name, displayName, prefix, suffix, chatColor, false));
         return Tristate.TRUE;
     }
 
     @Override
-    public Tristate deleteGroup(String name) {
-        Optional<PermissionGroup> group = getGroups().entrySet().stream().map(Map.Entry::getValue).filter(g -> g.getName().equalsIgnoreCase(name)).findFirst();
+    public synchronized Tristate deleteGroup(String name) {
+        Optional<PermissionGroup> group = getGroup(name);
         if (!group.isPresent())
             return Tristate.NONE;
 
+        writeStamp++;
         if (defaultGroup.isPresent() && defaultGroup.get().getName().equalsIgnoreCase(name)) setDefaultGroup(null);
+        // Groups that inherited from this one lose its permissions.
+        invalidateGroup(group.get());
+        new ArrayList<>(cachedLadders.values()).stream().filter(ladder -> ladder.hasGroup(name))
+                .forEach(ladder -> removeFromLadder(ladder.getName(), group.get()));
         Set<UUID> players = new HashSet<>(group.get().getPlayers().keySet());
         // Delete from the cache
-        cachedGroups.remove(name);
+        cachedGroups.remove(normalizeGroupName(name));
         players.forEach(uuid -> this.removePlayerFromGroup(uuid, group.get()));
 
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return Tristate.FALSE;
-        }
-        try {
-            PreparedStatement statement = connection.get().prepareStatement("DELETE FROM groups WHERE name=?");
-            statement.setString(1, name);
-            statement.execute();
-            statement.close();
-            connection.get().close();
+        queue.submit(PendingWrite.remove("groups:" + group.get().getName(), "DELETE FROM groups WHERE name=?", group.get().getName()));
+        return Tristate.TRUE;
+    }
 
+    @Override
+    public synchronized Tristate addPlayerToGroup(UUID uuid, PermissionGroup group) {
+        if (!getGroup(group.getName()).isPresent()) writeStamp++;
+        group = cached(group);
+        if (group.hasPlayer(uuid)) {
+            // Adding a timed member again makes them permanent.
+            if (!expiries.cancel(memberKey(uuid, group))) return Tristate.NONE;
+            queue.submit(PendingWrite.add(memberKey(uuid, group),
+                    upsertGroupMember, UUIDUtil.toBytes(uuid), group.getName(), group.isPrimaryGroup(uuid), 0, null));
             return Tristate.TRUE;
-        } catch (SQLException e) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
-            e.printStackTrace();
         }
-        return Tristate.FALSE;
-    }
+        group.addPlayer(uuid, false);
+        indexMember(uuid, group, false);
+        invalidatePlayer(uuid);
 
-    @Override
-    public Optional<PermissionGroup> getGroup(String name) {
-        return Optional.ofNullable(cachedGroups.getOrDefault(name, null));
+        queue.submit(PendingWrite.add(memberKey(uuid, group),
+                upsertGroupMember, UUIDUtil.toBytes(uuid), group.getName(), false, 0, null)); // TODO: 1.1
+        return Tristate.TRUE;
     }
 
     @Override
-    public Tristate addPlayerToGroup(UUID uuid, PermissionGroup group) {
-        if (group.hasPlayer(uuid)) return Tristate.NONE;
-        group.addPlayer(uuid, false);
-        // Update the cache
-        cachedGroups.put(group.getName(), group);
-
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return Tristate.FALSE;
-        }
-        try {
-            PreparedStatement statement = connection.get().prepareStatement("INSERT INTO groupMembers (uuid,`group`,`primary`,ladderPosition) VALUES (?,?,?,?)");
-
-            statement.setString(1, uuid.toString());
-            statement.setString(2, group.getName());
-            statement.setBoolean(3, false);
-            statement.setInt(4, 0); // TODO: 1.1
-
-            statement.execute();
-            statement.close();
-            connection.get().close();
-            return Tristate.TRUE;
-        } catch (SQLException e) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.of(e)));
-            e.printStackTrace();
+    public synchronized Tristate addTimedPlayerToGroup(UUID uuid, PermissionGroup group, long expiresAt) {
+        if (!getGroup(group.getName()).isPresent()) writeStamp++;
+        group = cached(group);
+        if (group.hasPlayer(uuid)) {
+            // Only a timed membership can be extended.
+            if (!expiries.cancel(memberKey(uuid, group))) return Tristate.NONE;
+        } else {
+            group.addPlayer(uuid, false);
+            indexMember(uuid, group, false);
+            invalidatePlayer(uuid);
         }
-        return Tristate.FALSE;
+        queue.submit(PendingWrite.add(memberKey(uuid, group),
+                upsertGroupMember, UUIDUtil.toBytes(uuid), group.getName(), group.isPrimaryGroup(uuid), 0, expiresAt));
+        scheduleMembershipExpiry(uuid, group.getName(), expiresAt);
+        return Tristate.TRUE;
     }
 
     @Override
-    public Tristate removePlayerFromGroup(UUID uuid, PermissionGroup group) {
+    public synchronized Tristate removePlayerFromGroup(UUID uuid, PermissionGroup group) {
+        if (!getGroup(group.getName()).isPresent()) writeStamp++;
+        group = cached(group);
         if (!group.hasPlayer(uuid)) return Tristate.NONE;
         group.removePlayer(uuid);
+        unindexMember(uuid, group);
+        invalidatePlayer(uuid);
+        expiries.cancel(memberKey(uuid, group));
 
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return Tristate.FALSE;
-        }
-        try {
-            PreparedStatement statement = connection.get().prepareStatement("DELETE FROM groupMembers WHERE uuid=? AND `group`=?");
-            statement.setString(1, uuid.toString());
-            statement.setString(2, group.getName());
-            statement.execute();
-            statement.close();
-            connection.get().close();
-            return Tristate.TRUE;
-        } catch (SQLException e) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.of(e)));
-            e.printStackTrace();
-        }
-        return Tristate.FALSE;
+        queue.submit(PendingWrite.remove(memberKey(uuid, group),
+                "DELETE FROM groupMembers WHERE uuid=? AND `group`=?", UUIDUtil.toBytes(uuid), group.getName()));
+        return Tristate.TRUE;
     }
 
     @Override
@@ -545,181 +824,163 @@ public class SQLHandler extends DatabaseHandler {
 
     @Override
     public List<PermissionGroup> getGroups(UUID uuid) {
-        return cachedGroups.entrySet().stream().map(Map.Entry::getValue).filter(group -> group.hasPlayer(uuid)).collect(Collectors.toList());
+        return memberships.getOrDefault(uuid, PlayerGroups.EMPTY).getGroups();
     }
 
     @Override
-    public Tristate setPrimaryGroup(PermissionGroup group, UUID uuid) {
-        if (!group.hasPlayer(uuid)) addPlayerToGroup(uuid, group);
-        if (group.isPrimaryGroup(uuid)) return Tristate.NONE;
-        group.setPrimaryGroup(uuid, true);
-
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return Tristate.FALSE;
-        }
-
-        try {
-            PreparedStatement statement = connection.get().prepareStatement("UPDATE groupMembers SET `primary`=? WHERE uuid=? AND `group`=?");
-            statement.setBoolean(1, true);
-            statement.setString(2, uuid.toString());
-            statement.setString(3, group.getName());
-
-            statement.execute();
-            statement.close();
-            connection.get().close();
-
-            return Tristate.TRUE;
-        } catch (SQLException e) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
-            e.printStackTrace();
-        }
-        return Tristate.FALSE;
+    public synchronized Tristate setPrimaryGroup(PermissionGroup group, UUID uuid) {
+        if (!getGroup(group.getName()).isPresent()) writeStamp++;
+        PermissionGroup primary = cached(group);
+        if (!primary.hasPlayer(uuid)) addPlayerToGroup(uuid, primary);
+        if (primary.isPrimaryGroup(uuid)) return Tristate.NONE;
+        // A player only has one primary group.
+        getGroups(uuid).forEach(other -> other.setPrimaryGroup(uuid, other == primary));
+        indexMember(uuid, primary, true);
+
+        queue.submit(PendingWrite.set("primary:" + uuid, PendingWrite.Statement.of(
+                "UPDATE groupMembers SET `primary`=CASE WHEN `group`=? THEN 1 ELSE 0 END WHERE uuid=?", primary.getName(), UUIDUtil.toBytes(uuid))));
+        return Tristate.TRUE;
     }
 
     @Override
     public Optional<PermissionGroup> getPrimaryGroup(UUID uuid) {
-        return getGroups(uuid).stream().filter(group -> group.isPrimaryGroup(uuid)).findFirst();
+        return memberships.getOrDefault(uuid, PlayerGroups.EMPTY).getPrimary();
     }
 
     @Override
     public void updateCache(UUID uuid) {
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
+        loadOptimistically(() -> readMissingGroups(uuid), groups -> {
+            groups.forEach(this::installGroup);
+            invalidatePlayer(uuid);
+            return null;
+        });
+    }
+
+    /**
+     * Read the groups a player is in that we don't have yet, without touching the caches.
+     *
+     * @param uuid the uuid of the player
+     * @return the groups, with their members
+     */
+    private List<PermissionGroup> readMissingGroups(UUID uuid) {
+        queue.flush();
+        List<PermissionGroup> missing = new ArrayList<>();
+        Optional<Connection> borrowed = getConnection();
+        if (!borrowed.isPresent()) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return;
+            return missing;
         }
-        try {
-            PreparedStatement statement = connection.get().prepareStatement("SELECT `group` FROM groupMembers WHERE uuid=?");
-            statement.setString(1, uuid.toString());
-            ResultSet results = statement.executeQuery();
-            while (results.next()) {
-                String groupName = results.getString("group");
-                Optional<PermissionGroup> group = getGroup(groupName);
+        try (Connection connection = borrowed.get();
+             PreparedStatement statement = connection.prepareStatement("SELECT `group` FROM groupMembers WHERE uuid=?")) {
+            statement.setBytes(1, UUIDUtil.toBytes(uuid));
+            List<String> groupNames = new ArrayList<>();
+            try (ResultSet results = statement.executeQuery()) {
+                while (results.next()) groupNames.add(results.getString("group"));
+            }
+            for (String groupName : groupNames) {
                 // Get the group from the database, if we don't have have it already
-                if (!group.isPresent()) {
-                    PreparedStatement groupStatement = connection.get().prepareStatement("SELECT prefix,suffix,chatcolor FROM groups WHERE name=?");
-                    groupStatement.setString(1, groupName);
-                    ResultSet groupResults = groupStatement.executeQuery();
-                    if (!groupResults.next()) return;
-                    PermissionGroup permissionGroup = new PermissionGroup(
-                            groupName, groupResults.getString("displayName"), groupResults.getString("chatcolor"), groupResults.getString("prefix"),
-                            groupResults.getString("suffix"));
-                    groupResults.close();
-                    groupStatement.close();
-                    PreparedStatement groupPlayersStatement = connection.get().prepareStatement("SELECT uuid,`primary` FROM groupMembers WHERE `group`=?");
-                    groupPlayersStatement.setString(1, groupName);
-                    ResultSet groupPlayersResult = groupPlayersStatement.executeQuery();
-                    while (groupPlayersResult.next()) {
-                        permissionGroup.addPlayer(UUID.fromString(groupPlayersResult.getString("uuid")),
-                                groupPlayersResult.getBoolean("primary"));
-                    }
-                    cachedGroups.put(groupName, permissionGroup);
-                }
+                if (!getGroup(groupName).isPresent()) readGroup(connection, groupName).ifPresent(missing::add);
             }
-            results.close();
-            statement.close();
-            connection.get().close();
         } catch (SQLException e) {
             PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
             e.printStackTrace();
         }
+        return missing;
+    }
+
+    /**
+     * Read a single group, and its members, from the database.
+     *
+     * @param connection the connection to read with
+     * @param groupName  the name of the group to read
+     * @return the group, empty if it doesn't exist
+     */
+    private Optional<PermissionGroup> readGroup(Connection connection, String groupName) throws SQLException {
+        PermissionGroup permissionGroup;
+        try (PreparedStatement groupStatement = connection.prepareStatement("SELECT displayName,prefix,suffix,chatcolor FROM groups WHERE name=?")) {
+            groupStatement.setString(1, groupName);
+            try (ResultSet groupResults = groupStatement.executeQuery()) {
+                if (!groupResults.next()) return Optional.empty();
+                permissionGroup = new PermissionGroup(
+                        groupName, groupResults.getString("displayName"), groupResults.getString("chatcolor"), groupResults.getString("prefix"),
+                        groupResults.getString("suffix"));
+            }
+        }
+        try (PreparedStatement groupPlayersStatement = connection.prepareStatement("SELECT uuid,`primary` FROM groupMembers WHERE `group`=?")) {
+            groupPlayersStatement.setString(1, groupName);
+            try (ResultSet groupPlayersResult = groupPlayersStatement.executeQuery()) {
+                while (groupPlayersResult.next()) {
+                    permissionGroup.addPlayer(UUIDUtil.fromBytes(groupPlayersResult.getBytes("uuid")),
+                            groupPlayersResult.getBoolean("primary"));
+                }
+            }
+        }
+        return Optional.of(permissionGroup);
+    }
+
+    /**
+     * Put a group that was read from the database into the cache, unless it got there first. Only call this while
+     * holding the handler's lock.
+     *
+     * @param group the group to install
+     */
+    private void installGroup(PermissionGroup group) {
+        if (getGroup(group.getName()).isPresent()) return;
+        cachedGroups.put(normalizeGroupName(group.getName()), group);
+        group.getPlayers().forEach((uuid, primary) -> indexMember(uuid, group, primary));
     }
 
     @Override
-    public boolean addGroupPermission(String group, String... permissions) {
+    public synchronized boolean addGroupPermission(String group, String... permissions) {
         // Make sure this is a valid group
-        Optional<PermissionGroup> permissionGroup = getGroups().entrySet().stream().map(Map.Entry::getValue)
-                .filter(permission -> permission.getName().equalsIgnoreCase(group)).findFirst();
+        Optional<PermissionGroup> permissionGroup = getGroup(group);
         if (!permissionGroup.isPresent()) return false;
         // Update the cache
+        List<Permission> added = new ArrayList<>();
         for (String permission : permissions) {
-            Optional<Connection> connection = getConnection();
-            if (!connection.isPresent()) {
-                PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-                return false;
-            }
-            try {
-                if (permissionGroup.get().hasPermission(permission)) return false;
-                PreparedStatement statement = connection.get().prepareStatement("INSERT INTO groupPermissions (groupName,permission) VALUES (?,?)");
-                statement.setString(1, group);
-                statement.setString(2, permission);
-                statement.execute();
-                statement.close();
-                connection.get().close();
-
-                permissionGroup.get().addPermission(permission);
-
-                return true;
-            } catch (SQLException e) {
-                PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
-                e.printStackTrace();
-            }
+            if (permissionGroup.get().hasPermission(permission)) continue;
+            added.add(new Permission(permission, true));
+            queue.submit(PendingWrite.add("groupPermissions:" + permissionGroup.get().getName() + ":" + permission,
+                    upsertGroupPermission, permissionGroup.get().getName(), permission));
         }
-        return false;
+        if (added.isEmpty()) return false;
+        Map<PermissionGroup, PermissionSet> before = captureInherited(permissionGroup.get());
+        permissionGroup.get().addPermissions(added);
+        invalidateGroup(permissionGroup.get(), before);
+        return true;
     }
 
     @Override
-    public boolean removeGroupPermission(String group, String... permissions) {
-        Optional<PermissionGroup> permissionGroup = getGroups().entrySet().stream().map(Map.Entry::getValue)
-                .filter(permission -> permission.getName().equalsIgnoreCase(group)).findFirst();
+    public synchronized boolean removeGroupPermission(String group, String... permissions) {
+        Optional<PermissionGroup> permissionGroup = getGroup(group);
         if (!permissionGroup.isPresent()) return false;
 
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return false;
-        }
-        try {
-            for (String permission : permissions) {
-                if (!permissionGroup.get().hasPermission(permission)) return false;
-                permissionGroup.get().removePermission(permission);
-
-                PreparedStatement statement = connection.get().prepareStatement("DELETE FROM groupPermissions WHERE groupName=? AND permission=?");
-                statement.setString(1, group);
-                statement.setString(2, permission);
-                statement.execute();
-                statement.close();
-            }
-            connection.get().close();
-            return true;
-        } catch (SQLException e) {
-                PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.of(e)));
-                e.printStackTrace();
+        boolean removed = false;
+        Map<PermissionGroup, PermissionSet> before = captureInherited(permissionGroup.get());
+        for (String permission : permissions) {
+            if (!permissionGroup.get().hasPermission(permission)) continue;
+            permissionGroup.get().removePermission(permission);
+            queue.submit(PendingWrite.remove("groupPermissions:" + permissionGroup.get().getName() + ":" + permission,
+                    "DELETE FROM groupPermissions WHERE groupName=? AND permission=?", permissionGroup.get().getName(), permission));
+            removed = true;
         }
-        return false;
+        if (removed) invalidateGroup(permissionGroup.get(), before);
+        return removed;
     }
 
     @Override
     public boolean hasGroupPermission(String group, String permission) {
-        Optional<PermissionGroup> permissionGroup = getGroups().entrySet().stream().map(Map.Entry::getValue)
-                .filter(perm -> perm.getName().equalsIgnoreCase(group)).findFirst();
+        Optional<PermissionGroup> permissionGroup = getGroup(group);
         return permissionGroup.map(groupPermission -> groupPermission.hasPermission(permission)).orElse(false);
     }
 
     @Override
-    public void addSuperAdmin(UUID uuid) {
+    public synchronized void addSuperAdmin(UUID uuid) {
         if (uuid == null) return;
         if (superAdmins.contains(uuid)) return;
         // Update the cache
         superAdmins.add(uuid);
-        // Update mysql
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return;
-        }
-        try {
-            PreparedStatement statement = connection.get().prepareStatement("INSERT INTO superAdmin (uuid) VALUES (?)");
-            statement.setString(1, uuid.toString());
-            statement.execute();
-            statement.close();
-            connection.get().close();
-        } catch (SQLException e) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
-            e.printStackTrace();
-        }
+        queue.submit(PendingWrite.add("superAdmin:" + uuid, upsertSuperAdmin, UUIDUtil.toBytes(uuid)));
     }
 
     @Override
@@ -728,67 +989,116 @@ public class SQLHandler extends DatabaseHandler {
     }
 
     @Override
-    public void removeSuperAdmin(UUID uuid) {
+    public synchronized void removeSuperAdmin(UUID uuid) {
         if (uuid == null) return;
         superAdmins.removeIf(u -> u.equals(uuid));
-
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return;
-        }
-        try {
-            PreparedStatement statement = connection.get().prepareStatement("DELETE FROM superAdmin WHERE uuid=?");
-            statement.setString(1, uuid.toString());
-            statement.execute();
-            statement.close();
-            connection.get().close();
-        } catch (SQLException e) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
-            e.printStackTrace();
-        }
+        queue.submit(PendingWrite.remove("superAdmin:" + uuid, "DELETE FROM superAdmin WHERE uuid=?", UUIDUtil.toBytes(uuid)));
     }
 
     @Override
-    public void setDefaultGroup(PermissionGroup group) {
+    public synchronized void setDefaultGroup(PermissionGroup group) {
         defaultGroup = Optional.ofNullable(group);
+        queue.submit(PendingWrite.set("defaultGroup", PendingWrite.Statement.of(
+                "UPDATE groups SET defaultGroup=CASE WHEN name=? THEN 1 ELSE 0 END", defaultGroup.map(PermissionGroup::getName).orElse(""))));
+    }
 
-        Optional<Connection> connection = getConnection();
-        if (!connection.isPresent()) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.empty()));
-            return;
-        }
-        try {
-            PreparedStatement removeDefaultsStatement = connection.get().prepareStatement("UPDATE groups SET defaultGroup=? WHERE defaultGroup=?");
-            removeDefaultsStatement.setBoolean(1, false);
-            removeDefaultsStatement.setBoolean(2, true);
-            removeDefaultsStatement.execute();
-            removeDefaultsStatement.close();
-
-            PreparedStatement setDefaultStatement = connection.get().prepareStatement("UPDATE groups SET defaultGroup=? WHERE name=?");
-            setDefaultStatement.setBoolean(1, true);
-            setDefaultStatement.setString(2, defaultGroup.map(PermissionGroup::getName).orElse(""));
-            setDefaultStatement.execute();
-            setDefaultStatement.close();
-            connection.get().close();
-        } catch (SQLException e) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
-            e.printStackTrace();
-        }
+    @Override
+    public synchronized Tristate createLadder(String name) {
+        if (getLadder(name).isPresent()) return Tristate.NONE;
+        Map<String, Ladder> ladders = new ConcurrentHashMap<>(cachedLadders);
+        ladders.put(normalizeGroupName(name), new Ladder(name));
+        publishLadders(ladders);
+
+        queue.submit(PendingWrite.add("ladders:" + name, upsertLadder, name));
+        return Tristate.TRUE;
     }
 
-    private boolean hasFormattingTable(Connection connection, String database) {
-        try {
-            if (isUsingSQLite) {
-                PreparedStatement statement = connection.prepareStatement("SELECT name FROM sqlite_master WHERE type='table' AND name=?");
-                statement.setString(1, "formatting");
-                return statement.executeQuery().next();
-            }
-            return connection.getMetaData().getTables(database, null, "formatting", new String[]{"TABLE"}).next();
-        } catch (SQLException e) {
-            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
-            e.printStackTrace();
-        }
-        return false;
+    @Override
+    public synchronized Tristate deleteLadder(String name) {
+        Optional<Ladder> ladder = getLadder(name);
+        if (!ladder.isPresent()) return Tristate.NONE;
+        Map<String, Ladder> ladders = new ConcurrentHashMap<>(cachedLadders);
+        ladders.remove(normalizeGroupName(name));
+        publishLadders(ladders);
+
+        String ladderName = ladder.get().getName();
+        ladder.get().getGroups().forEach(group -> queue.submit(PendingWrite.remove(ladderLevelKey(ladderName, group),
+                "DELETE FROM ladderLevels WHERE ladder=? AND name=?", ladderName, group)));
+        queue.submit(PendingWrite.remove("ladders:" + ladderName, "DELETE FROM ladders WHERE name=?", ladderName));
+        return Tristate.TRUE;
+    }
+
+    @Override
+    public synchronized Tristate setLadderLevel(String ladder, PermissionGroup group, int power) {
+        Optional<Ladder> existing = getLadder(ladder);
+        if (!existing.isPresent()) return Tristate.FALSE;
+        if (existing.get().getPower(group.getName()).map(current -> current == power).orElse(false)) return Tristate.NONE;
+        Map<String, Ladder> ladders = new ConcurrentHashMap<>(cachedLadders);
+        ladders.put(normalizeGroupName(ladder), existing.get().with(group.getName(), power));
+        publishLadders(ladders);
+
+        String ladderName = existing.get().getName();
+        queue.submit(PendingWrite.add(ladderLevelKey(ladderName, group.getName()), upsertLadderLevel, ladderName, group.getName(), power));
+        return Tristate.TRUE;
+    }
+
+    @Override
+    public synchronized Tristate removeFromLadder(String ladder, PermissionGroup group) {
+        Optional<Ladder> existing = getLadder(ladder);
+        if (!existing.isPresent()) return Tristate.FALSE;
+        if (!existing.get().hasGroup(group.getName())) return Tristate.NONE;
+        Map<String, Ladder> ladders = new ConcurrentHashMap<>(cachedLadders);
+        ladders.put(normalizeGroupName(ladder), existing.get().without(group.getName()));
+        publishLadders(ladders);
+
+        String ladderName = existing.get().getName();
+        queue.submit(PendingWrite.remove(ladderLevelKey(ladderName, group.getName()),
+                "DELETE FROM ladderLevels WHERE ladder=? AND name=?", ladderName, group.getName()));
+        return Tristate.TRUE;
+    }
+
+    /**
+     * Get the cached copy of a group, in case the one we were given is from before a reload.
+     *
+     * @param group the group to look up
+     * @return the cached group, or the one given if it isn't cached
+     */
+    private PermissionGroup cached(PermissionGroup group) {
+        return getGroup(group.getName()).orElse(group);
+    }
+
+    private String memberKey(UUID uuid, PermissionGroup group) {
+        return memberKey(uuid, group.getName());
+    }
+
+    private String memberKey(UUID uuid, String group) {
+        return "groupMembers:" + uuid + ":" + group;
+    }
+
+    private String permissionKey(UUID uuid, String permission) {
+        return "playerPermissions:" + uuid + ":" + permission;
+    }
+
+    private String ladderLevelKey(String ladder, String group) {
+        return "ladderLevels:" + ladder + ":" + group;
+    }
+
+    private String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private void bindUUIDs(PreparedStatement statement, List<UUID> uuids) throws SQLException {
+        for (int i = 0; i < uuids.size(); i++) statement.setBytes(i + 1, UUIDUtil.toBytes(uuids.get(i)));
+    }
+
+    /**
+     * Hint to the driver that a statement's results should be streamed in chunks, rather than read into memory all at once.
+     *
+     * @param statement the statement to stream
+     * @return the statement
+     */
+    private PreparedStatement stream(PreparedStatement statement) throws SQLException {
+        statement.setFetchSize(STREAM_FETCH_SIZE);
+        return statement;
     }
 }
@@ -0,0 +1,283 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.pool;
+
+import lombok.Getter;
+import me.innectic.permissify.api.PermissifyAPI;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * A small, bounded JDBC connection pool.
+ *
+ * Connections handed out are proxies: calling {@link Connection#close()} returns the physical connection to the
+ * pool instead of closing it, so callers should always borrow with try-with-resources.
+ */
+public class ConnectionPool {
+
+    // Connections that were returned recently are trusted without a round trip to the database.
+    private static final long VALIDATION_BYPASS_WINDOW = 500;
+    private static final long HOUSEKEEPING_INTERVAL = 30000;
+
+    private final ConnectionFactory factory;
+    @Getter private final PoolSettings settings;
+
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<Lease> leased = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    public ConnectionPool(ConnectionFactory factory, PoolSettings settings) {
+        this.factory = factory;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.getMaximumSize(), true);
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Permissify Pool Housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = HOUSEKEEPING_INTERVAL;
+        if (settings.getLeakDetectionThreshold() > 0) interval = Math.min(interval, settings.getLeakDetectionThreshold());
+        housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection from the pool, waiting up to the connection timeout for one to free up.
+     *
+     * @return a connection that is returned to the pool when closed
+     * @throws SQLException if no connection could be borrowed or created
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool has been shut down");
+        try {
+            if (!permits.tryAcquire(settings.getConnectionTimeout(), TimeUnit.MILLISECONDS))
+                throw new SQLTimeoutException("Timed out after " + settings.getConnectionTimeout() + " ms waiting for a pooled connection (" +
+                        leased.size() + " in use)");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) break;
+                pooled.closePhysical();
+            }
+            if (pooled == null) pooled = new PooledConnection(factory.create());
+
+            Lease lease = new Lease(pooled, settings.getLeakDetectionThreshold() > 0 ? new Exception("Connection borrowed here") : null);
+            leased.add(lease);
+            return lease.getProxy();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Close every idle connection, and stop handing out new ones. Leased connections are closed as they're returned.
+     */
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) pooled.closePhysical();
+    }
+
+    public int getActiveConnections() {
+        return leased.size();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        if (isExpired(pooled, now)) return false;
+        if (now - pooled.getLastReturned() < VALIDATION_BYPASS_WINDOW) return true;
+        try {
+            int timeout = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(settings.getValidationTimeout()));
+            return pooled.getConnection().isValid(timeout);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        return settings.getMaxLifetime() > 0 && now - pooled.getCreated() > settings.getMaxLifetime();
+    }
+
+    private void release(Lease lease) {
+        leased.remove(lease);
+        PooledConnection pooled = lease.getPooled();
+        try {
+            if (closed || lease.isBroken() || isExpired(pooled, System.currentTimeMillis()) || pooled.getConnection().isClosed()) {
+                pooled.closePhysical();
+                return;
+            }
+            // Don't let one caller's transaction state leak into the next borrower.
+            if (!pooled.getConnection().getAutoCommit()) {
+                pooled.getConnection().rollback();
+                pooled.getConnection().setAutoCommit(true);
+            }
+            pooled.setLastReturned(System.currentTimeMillis());
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            pooled.closePhysical();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        long threshold = settings.getLeakDetectionThreshold();
+        if (threshold > 0) {
+            leased.stream().filter(lease -> now - lease.getBorrowed() > threshold).filter(Lease::markReported).forEach(lease ->
+                    PermissifyAPI.get().ifPresent(api -> api.getLogger().log(Level.WARNING,
+                            "A database connection has been borrowed for over " + threshold + " ms, it may have leaked.", lease.getOrigin())));
+        }
+
+        // Retire connections that are too old, or have been idle for too long while we have more than we need.
+        for (PooledConnection pooled : idle) {
+            boolean idleTooLong = settings.getIdleTimeout() > 0 && now - pooled.getLastReturned() > settings.getIdleTimeout() &&
+                    idle.size() > settings.getMinimumIdle();
+            if (!isExpired(pooled, now) && !idleTooLong) continue;
+            if (idle.remove(pooled)) pooled.closePhysical();
+        }
+
+        // Keep a few connections warm, so the first queries after a quiet period don't pay for the handshake.
+        while (!closed && idle.size() < settings.getMinimumIdle() && idle.size() + leased.size() < settings.getMaximumSize()) {
+            try {
+                PooledConnection pooled = new PooledConnection(factory.create());
+                pooled.setLastReturned(System.currentTimeMillis());
+                idle.offerLast(pooled);
+            } catch (SQLException e) {
+                PermissifyAPI.get().ifPresent(api -> api.getLogger().log(Level.WARNING, "Unable to open an idle database connection", e));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Opens a new physical connection to the database.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private static class PooledConnection {
+        @Getter private final Connection connection;
+        @Getter private final long created = System.currentTimeMillis();
+        @Getter private volatile long lastReturned = created;
+
+        PooledConnection(Connection connection) throws SQLException {
+            if (connection == null) throw new SQLException("Driver returned no connection");
+            this.connection = connection;
+        }
+
+        void setLastReturned(long lastReturned) {
+            this.lastReturned = lastReturned;
+        }
+
+        void closePhysical() {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    /**
+     * A single borrow of a pooled connection. Each lease gets its own proxy, so a stale reference can't touch a
+     * connection after it has been handed to someone else.
+     */
+    private class Lease implements InvocationHandler {
+        @Getter private final PooledConnection pooled;
+        @Getter private final Exception origin;
+        @Getter private final long borrowed = System.currentTimeMillis();
+        @Getter private final Connection proxy;
+        @Getter private volatile boolean broken = false;
+        private final AtomicBoolean returned = new AtomicBoolean(false);
+        private final AtomicBoolean reported = new AtomicBoolean(false);
+
+        Lease(PooledConnection pooled, Exception origin) {
+            this.pooled = pooled;
+            this.origin = origin;
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[]{Connection.class}, this);
+        }
+
+        boolean markReported() {
+            return reported.compareAndSet(false, true);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) release(this);
+                    return null;
+                case "isClosed":
+                    return returned.get() || pooled.getConnection().isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection [" + pooled.getConnection() + "]";
+            }
+            if (returned.get()) throw new SQLException("Connection has already been returned to the pool");
+            try {
+                return method.invoke(pooled.getConnection(), args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                // SQL state class 08 is a connection exception, this connection shouldn't be reused.
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    if (state != null && state.startsWith("08")) broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.pool;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Sizing and lifetime settings for a {@link ConnectionPool}, read from the `pool` section of a handler's meta.
+ */
+@AllArgsConstructor
+public class PoolSettings {
+    @Getter private final int maximumSize;
+    @Getter private final int minimumIdle;
+    @Getter private final long connectionTimeout;
+    @Getter private final long validationTimeout;
+    @Getter private final long maxLifetime;
+    @Getter private final long idleTimeout;
+    @Getter private final long leakDetectionThreshold;
+
+    /**
+     * Read the pool settings out of connection meta, falling back to defaults for anything missing.
+     *
+     * @param meta the meta of the connection information
+     * @return the settings for the pool
+     */
+    public static PoolSettings fromMeta(Map<String, Object> meta) {
+        Object section = meta == null ? null : meta.get("pool");
+        Map<?, ?> pool = section instanceof Map ? (Map<?, ?>) section : null;
+
+        int maximumSize = Math.max(1, (int) getLong(pool, "maximum-size", 10));
+        int minimumIdle = (int) Math.min(maximumSize, getLong(pool, "minimum-idle", 2));
+        return new PoolSettings(maximumSize, Math.max(0, minimumIdle),
+                getLong(pool, "connection-timeout", 5000),
+                getLong(pool, "validation-timeout", 2000),
+                getLong(pool, "max-lifetime", 1800000),
+                getLong(pool, "idle-timeout", 600000),
+                getLong(pool, "leak-detection-threshold", 0));
+    }
+
+    private static long getLong(Map<?, ?> section, String key, long defaultValue) {
+        if (section == null) return defaultValue;
+        Object value = section.get(key);
+        if (value instanceof Number) return ((Number) value).longValue();
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PoolSettings [" +
+                "maximumSize=" + maximumSize +
+                ", minimumIdle=" + minimumIdle +
+                ", connectionTimeout=" + connectionTimeout +
+                ", validationTimeout=" + validationTimeout +
+                ", maxLifetime=" + maxLifetime +
+                ", idleTimeout=" + idleTimeout +
+                ", leakDetectionThreshold=" + leakDetectionThreshold +
+                " ]";
+    }
+}
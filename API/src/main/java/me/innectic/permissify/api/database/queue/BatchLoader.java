@@ -0,0 +1,188 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.queue;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Collects loads that arrive close together, and resolves them with one call per batch, so a burst of requests turns
+ * into a handful of queries. A load waits at most the window for others to join it, and less once a full batch is
+ * waiting. Loading the same key twice while it's waiting shares one result.
+ */
+public class BatchLoader<K, V> {
+
+    /**
+     * Loads a batch of keys at once.
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+
+        /**
+         * @param keys the keys to load, never more than the batch size
+         * @return the value of each key that was found
+         * @throws Exception if the batch couldn't be loaded, failing every load in it
+         */
+        Map<K, V> load(List<K> keys) throws Exception;
+    }
+
+    private final Loader<K, V> loader;
+    @Getter private final long window;
+    @Getter private final int batchSize;
+
+    private final Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Thread thread;
+
+    private long oldestPending = 0;
+    private volatile boolean running = true;
+
+    public BatchLoader(String name, Loader<K, V> loader, long window, int batchSize) {
+        this.loader = loader;
+        this.window = Math.max(0, window);
+        this.batchSize = Math.max(1, batchSize);
+
+        thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queue a key to be loaded with the next batch.
+     *
+     * @param key the key to load
+     * @return the future value, null if the loader didn't find it. Fails if the batch fails, or the loader is stopped.
+     */
+    public CompletableFuture<V> load(K key) {
+        lock.lock();
+        try {
+            if (!running) {
+                CompletableFuture<V> stopped = new CompletableFuture<>();
+                stopped.completeExceptionally(new IllegalStateException("The loader has been shut down."));
+                return stopped;
+            }
+            CompletableFuture<V> existing = pending.get(key);
+            if (existing != null) return existing;
+
+            if (pending.isEmpty()) oldestPending = System.currentTimeMillis();
+            CompletableFuture<V> future = new CompletableFuture<>();
+            pending.put(key, future);
+            changed.signalAll();
+            return future;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop the loader thread, and resolve whatever it left behind.
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            running = false;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Map<K, CompletableFuture<V>> batch;
+        while (!(batch = takeBatch()).isEmpty()) resolve(batch);
+    }
+
+    /**
+     * Get how many keys are waiting to be loaded.
+     *
+     * @return the number of waiting keys
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            lock.lock();
+            try {
+                while (running && pending.isEmpty()) changed.await();
+                // Give other loads a chance to join, unless there's already enough for a batch.
+                long wait;
+                while (running && pending.size() < batchSize && (wait = oldestPending + window - System.currentTimeMillis()) > 0) {
+                    changed.await(wait, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            // Anything left over has waited long enough already, so it goes out with the next pass.
+            resolve(takeBatch());
+        }
+    }
+
+    private Map<K, CompletableFuture<V>> takeBatch() {
+        lock.lock();
+        try {
+            Map<K, CompletableFuture<V>> batch = new LinkedHashMap<>();
+            Iterator<Map.Entry<K, CompletableFuture<V>>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                Map.Entry<K, CompletableFuture<V>> entry = iterator.next();
+                batch.put(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void resolve(Map<K, CompletableFuture<V>> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            Map<K, V> loaded = loader.load(new ArrayList<>(batch.keySet()));
+            batch.forEach((key, future) -> future.complete(loaded.get(key)));
+        } catch (Exception e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
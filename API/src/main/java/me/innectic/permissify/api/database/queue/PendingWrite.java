@@ -0,0 +1,110 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.queue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * A write waiting in the {@link WriteBehindQueue}. Writes with the same key touch the same row, so they're merged
+ * together before they ever reach the database. Every statement is expected to be idempotent.
+ */
+public class PendingWrite {
+    @Getter private final String key;
+    @Getter private final Type type;
+    @Getter private final List<Statement> statements;
+
+    private PendingWrite(String key, Type type, List<Statement> statements) {
+        this.key = key;
+        this.type = type;
+        this.statements = statements;
+    }
+
+    public static PendingWrite add(String key, String sql, Object... parameters) {
+        return new PendingWrite(key, Type.ADD, Collections.singletonList(new Statement(sql, parameters)));
+    }
+
+    public static PendingWrite remove(String key, String sql, Object... parameters) {
+        return new PendingWrite(key, Type.REMOVE, Collections.singletonList(new Statement(sql, parameters)));
+    }
+
+    public static PendingWrite set(String key, Statement... statements) {
+        return new PendingWrite(key, Type.SET, Arrays.asList(statements));
+    }
+
+    /**
+     * Merge a newer write for the same key into this one.
+     *
+     * @param newer the write that came after this one
+     * @return the merged write
+     */
+    PendingWrite merge(PendingWrite newer) {
+        if (type == Type.REMOVE && newer.type == Type.ADD) {
+            // Still remove first, so the row is re-added fresh instead of keeping whatever it had before.
+            List<Statement> merged = new ArrayList<>(statements);
+            merged.addAll(newer.statements);
+            return new PendingWrite(key, Type.ADD, merged);
+        }
+        if (type == Type.ADD && newer.type == Type.ADD) {
+            // Upserting the same row again only leaves the newer values, like an expiry that changed, but
+            // anything that ran before the older upsert still has to.
+            List<Statement> merged = new ArrayList<>(statements.subList(0, statements.size() - 1));
+            merged.addAll(newer.statements);
+            return new PendingWrite(key, Type.ADD, merged);
+        }
+        return newer;
+    }
+
+    public enum Type {
+        ADD, REMOVE, SET
+    }
+
+    @AllArgsConstructor
+    public static class Statement {
+        @Getter private final String sql;
+        @Getter private final Object[] parameters;
+
+        public static Statement of(String sql, Object... parameters) {
+            return new Statement(sql, parameters);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PendingWrite [" +
+                "key=" + key +
+                ", type=" + type +
+                ", statements=" + statements.size() +
+                " ]";
+    }
+}
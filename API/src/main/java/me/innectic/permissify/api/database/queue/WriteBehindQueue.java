@@ -0,0 +1,307 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.queue;
+
+import lombok.Getter;
+import me.innectic.permissify.api.PermissifyAPI;
+import me.innectic.permissify.api.database.ConnectionError;
+import me.innectic.permissify.api.database.pool.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Writes changes to the database in the background. Writes are merged per key while they wait, and are flushed
+ * by a single writer thread as JDBC batches inside one transaction.
+ *
+ * The caches were already changed by the time a write gets here, so a write that fails is queued again, ahead of
+ * anything newer, and retried with a growing delay until the database takes it. Writes are only given up on once
+ * the queue is shut down.
+ */
+public class WriteBehindQueue {
+
+    private static final long MIN_RETRY_DELAY = 1000;
+    private static final long MAX_RETRY_DELAY = 60000;
+
+    private final ConnectionPool pool;
+    @Getter private final long maxDelay;
+    @Getter private final int batchSize;
+
+    // Insertion ordered, so writes to different rows still reach the database in the order they were made.
+    private final Map<String, PendingWrite> pending = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // Held while writing, so a manual flush and the writer thread can't reorder writes between them.
+    private final Object writeLock = new Object();
+    private final Thread writer;
+
+    private long oldestPending = 0;
+    private long retryDelay = 0;
+    private long retryAt = 0;
+    private volatile boolean running = true;
+
+    public WriteBehindQueue(ConnectionPool pool, long maxDelay, int batchSize) {
+        this.pool = pool;
+        this.maxDelay = Math.max(0, maxDelay);
+        this.batchSize = Math.max(1, batchSize);
+
+        writer = new Thread(this::run, "Permissify Writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue a write, merging it with anything still waiting for the same key.
+     *
+     * @param write the write to queue
+     */
+    public void submit(PendingWrite write) {
+        lock.lock();
+        try {
+            PendingWrite existing = pending.get(write.getKey());
+            if (existing == null) {
+                if (pending.isEmpty()) oldestPending = System.currentTimeMillis();
+                pending.put(write.getKey(), write);
+            } else {
+                PendingWrite merged = existing.merge(write);
+                if (merged != existing) {
+                    // Move it to the back, so it's written after anything it happened after.
+                    pending.remove(write.getKey());
+                    pending.put(write.getKey(), merged);
+                }
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        // Nobody is left to write it for us.
+        if (!running) flush();
+    }
+
+    /**
+     * Write everything that's currently queued, and wait for it to finish. Anything that couldn't be written is
+     * queued again to be retried, unless the queue was shut down.
+     *
+     * @return if everything was written
+     */
+    public boolean flush() {
+        synchronized (writeLock) {
+            List<PendingWrite> writes;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) return true;
+                writes = new ArrayList<>(pending.values());
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+            List<PendingWrite> failed = write(writes);
+            if (failed.isEmpty()) {
+                lock.lock();
+                try {
+                    retryDelay = 0;
+                    retryAt = 0;
+                } finally {
+                    lock.unlock();
+                }
+                return true;
+            }
+            if (running) requeue(failed);
+            else giveUp(failed);
+            return false;
+        }
+    }
+
+    /**
+     * Put writes that failed back in the queue, ahead of everything that was queued after them.
+     */
+    private void requeue(List<PendingWrite> failed) {
+        lock.lock();
+        try {
+            Map<String, PendingWrite> requeued = new LinkedHashMap<>();
+            failed.forEach(write -> {
+                if (!pending.containsKey(write.getKey())) requeued.put(write.getKey(), write);
+            });
+            // A failed write for a row that was written again since is merged into the newer write, and keeps its place.
+            Map<String, PendingWrite> failedByKey = new HashMap<>();
+            failed.forEach(write -> failedByKey.put(write.getKey(), write));
+            pending.forEach((key, write) -> requeued.put(key, failedByKey.containsKey(key) ? failedByKey.get(key).merge(write) : write));
+            if (pending.isEmpty()) oldestPending = System.currentTimeMillis();
+            pending.clear();
+            pending.putAll(requeued);
+
+            retryDelay = retryDelay == 0 ? MIN_RETRY_DELAY : Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+            retryAt = System.currentTimeMillis() + retryDelay;
+            long delay = retryDelay;
+            PermissifyAPI.get().ifPresent(api -> api.getLogger().warning("Couldn't write " + failed.size() + " queued writes, retrying in " + delay + " ms."));
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void giveUp(List<PendingWrite> failed) {
+        StringBuilder keys = new StringBuilder();
+        failed.forEach(write -> keys.append(System.lineSeparator()).append("  ").append(write.getKey()));
+        PermissifyAPI.get().ifPresent(api -> api.getLogger().severe("Shutting down with " + failed.size() +
+                " writes the database never took. These changes are LOST, and will be missing the next time the server starts:" + keys));
+    }
+
+    /**
+     * Stop the writer thread, and flush whatever it left behind.
+     */
+    public void shutdown() {
+        running = false;
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Get how many merged writes are waiting to be written.
+     *
+     * @return the depth of the queue
+     */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            lock.lock();
+            try {
+                while (running && pending.isEmpty()) changed.await();
+                // Give writes a chance to pile up, and merge, unless there's already enough for a batch. After a
+                // failure, back off until the retry is due.
+                long wait;
+                while (running && (wait = nextWrite() - System.currentTimeMillis()) > 0) {
+                    changed.await(wait, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            flush();
+        }
+    }
+
+    /**
+     * When the writer thread should write next. Only call this while holding the lock.
+     */
+    private long nextWrite() {
+        long due = pending.size() < batchSize ? oldestPending + maxDelay : 0;
+        return Math.max(due, retryAt);
+    }
+
+    /**
+     * Write a batch of writes.
+     *
+     * @param writes the writes to write
+     * @return the writes that failed
+     */
+    private List<PendingWrite> write(List<PendingWrite> writes) {
+        List<PendingWrite.Statement> statements = new ArrayList<>();
+        writes.forEach(write -> statements.addAll(write.getStatements()));
+
+        try (Connection connection = pool.borrow()) {
+            connection.setAutoCommit(false);
+            try {
+                int index = 0;
+                while (index < statements.size()) {
+                    // Batch up each run of the same statement, keeping the order between different ones.
+                    String sql = statements.get(index).getSql();
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        while (index < statements.size() && statements.get(index).getSql().equals(sql)) {
+                            bind(statement, statements.get(index++));
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                }
+                connection.commit();
+                return Collections.emptyList();
+            } catch (SQLException e) {
+                connection.rollback();
+                PermissifyAPI.get().ifPresent(api -> api.getLogger().log(Level.WARNING,
+                        "Batched write of " + statements.size() + " statements failed, retrying them one at a time.", e));
+            } finally {
+                connection.setAutoCommit(true);
+            }
+
+            // Something in the batch was bad, write what we can so one row doesn't take the rest down with it.
+            // Statements are idempotent, so a write that fails part way is safe to retry whole.
+            List<PendingWrite> failed = new ArrayList<>();
+            for (PendingWrite write : writes) {
+                try {
+                    for (PendingWrite.Statement pendingStatement : write.getStatements()) {
+                        try (PreparedStatement statement = connection.prepareStatement(pendingStatement.getSql())) {
+                            bind(statement, pendingStatement);
+                            statement.execute();
+                        }
+                    }
+                } catch (SQLException e) {
+                    failed.add(write);
+                    PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
+                    e.printStackTrace();
+                }
+            }
+            return failed;
+        } catch (SQLException e) {
+            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.REJECTED, Optional.of(e)));
+            e.printStackTrace();
+            return writes;
+        }
+    }
+
+    private void bind(PreparedStatement statement, PendingWrite.Statement pending) throws SQLException {
+        Object[] parameters = pending.getParameters();
+        for (int i = 0; i < parameters.length; i++) statement.setObject(i + 1, parameters[i]);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.schema;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * A single step in the database schema. Migrations run once each, in order of their version.
+ */
+public interface Migration {
+
+    /**
+     * Get the version of the schema after this migration.
+     *
+     * @return the version
+     */
+    int getVersion();
+
+    /**
+     * Get what this migration does, for the schema_version table and the logs.
+     *
+     * @return the description
+     */
+    String getDescription();
+
+    /**
+     * Apply the migration. If this fails part way through, it will be run again on the next start, so it has to
+     * pick up from wherever it left off.
+     *
+     * @param migrator   the migrator running this migration
+     * @param connection the connection to migrate with
+     */
+    void migrate(SchemaMigrator migrator, Connection connection) throws SQLException;
+}
@@ -0,0 +1,210 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * The bits of SQL that differ between the databases we support.
+ */
+@AllArgsConstructor
+public enum SQLDialect {
+
+    MYSQL("BINARY(16)", "INSERT IGNORE"), SQLITE("BLOB", "INSERT OR IGNORE");
+
+    // The first version of SQLite that understands ON CONFLICT upserts.
+    private static final int[] SQLITE_UPSERT_VERSION = {3, 24, 0};
+
+    @Getter private String uuidType;
+    @Getter private String insertIgnore;
+
+    /**
+     * Check if the database understands the statements built by {@link #upsert(String, String[], String[], String...)}.
+     * MySQL always does, but the SQLite bundled with older servers might be too old.
+     *
+     * @param connection the connection to check with
+     * @return if upserts are supported
+     */
+    public boolean supportsUpsert(Connection connection) throws SQLException {
+        if (this != SQLITE) return true;
+        String[] version = getVersion(connection).split("\\.");
+        for (int i = 0; i < SQLITE_UPSERT_VERSION.length; i++) {
+            String digits = i < version.length ? version[i].replaceAll("[^0-9].*", "") : "";
+            int part = digits.isEmpty() ? 0 : Integer.parseInt(digits);
+            if (part != SQLITE_UPSERT_VERSION[i]) return part > SQLITE_UPSERT_VERSION[i];
+        }
+        return true;
+    }
+
+    /**
+     * Get the version of the database.
+     *
+     * @param connection the connection to check with
+     * @return the version
+     */
+    public String getVersion(Connection connection) throws SQLException {
+        if (this != SQLITE) return connection.getMetaData().getDatabaseProductVersion();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT sqlite_version()");
+             ResultSet results = statement.executeQuery()) {
+            return results.next() ? results.getString(1) : "";
+        }
+    }
+
+    /**
+     * Build an insert that updates the existing row instead, if one already has the same key.
+     *
+     * @param table   the table to insert into
+     * @param columns the columns to insert
+     * @param keys    the columns making up the unique key
+     * @param updates the columns to overwrite when the row already exists, none to leave it as is
+     * @return the statement, with a parameter for each column
+     */
+    public String upsert(String table, String[] columns, String[] keys, String... updates) {
+        String insert = upsertInsert("INSERT", table, columns);
+        if (this == SQLITE) {
+            if (updates.length == 0) return insert + " ON CONFLICT (" + String.join(",", keys) + ") DO NOTHING";
+            return insert + " ON CONFLICT (" + String.join(",", keys) + ") DO UPDATE SET " +
+                    Arrays.stream(updates).map(column -> column + "=excluded." + column).collect(Collectors.joining(","));
+        }
+        // Setting a key column to itself is MySQL's way of doing nothing.
+        if (updates.length == 0) return insert + " ON DUPLICATE KEY UPDATE " + keys[0] + "=" + keys[0];
+        return insert + " ON DUPLICATE KEY UPDATE " +
+                Arrays.stream(updates).map(column -> column + "=VALUES(" + column + ")").collect(Collectors.joining(","));
+    }
+
+    /**
+     * Build the same upsert as {@link #upsert(String, String[], String[], String...)}, for SQLite older than 3.24.
+     * The whole row is replaced, so the columns that shouldn't be overwritten are carried over from the existing row.
+     * Parameters are numbered, so they're bound the same way as the regular upsert's.
+     *
+     * @param table   the table to insert into
+     * @param columns the columns to insert
+     * @param keys    the columns making up the unique key
+     * @param updates the columns to overwrite when the row already exists, none to leave it as is
+     * @return the statement, with a parameter for each column
+     */
+    public String legacyUpsert(String table, String[] columns, String[] keys, String... updates) {
+        if (updates.length == 0) return upsertInsert("INSERT OR IGNORE", table, columns);
+        List<String> columnList = Arrays.asList(columns);
+        List<String> overwritten = new ArrayList<>(Arrays.asList(keys));
+        overwritten.addAll(Arrays.asList(updates));
+        String existing = " FROM " + table + " WHERE " + Arrays.stream(keys)
+                .map(key -> key + "=?" + (columnList.indexOf(key) + 1)).collect(Collectors.joining(" AND "));
+
+        List<String> values = new ArrayList<>(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            String parameter = "?" + (i + 1);
+            if (overwritten.contains(columns[i])) values.add(parameter);
+            else values.add("CASE WHEN EXISTS (SELECT 1" + existing + ") THEN (SELECT " + columns[i] + existing + ") ELSE " + parameter + " END");
+        }
+        return "INSERT OR REPLACE INTO " + table + " (" + String.join(",", columns) + ") VALUES (" + String.join(",", values) + ")";
+    }
+
+    private static String upsertInsert(String insert, String table, String[] columns) {
+        return insert + " INTO " + table + " (" + String.join(",", columns) + ") VALUES (" +
+                Arrays.stream(columns).map(column -> "?").collect(Collectors.joining(",")) + ")";
+    }
+
+    /**
+     * Check if a table exists.
+     *
+     * @param connection the connection to check with
+     * @param database   the database the table should be in
+     * @param table      the name of the table
+     * @return if the table exists
+     */
+    public boolean hasTable(Connection connection, String database, String table) throws SQLException {
+        if (this == SQLITE) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT name FROM sqlite_master WHERE type='table' AND name=?")) {
+                statement.setString(1, table);
+                try (ResultSet results = statement.executeQuery()) {
+                    return results.next();
+                }
+            }
+        }
+        try (ResultSet tables = connection.getMetaData().getTables(database, null, table, new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    /**
+     * Check if a table has a column.
+     *
+     * @param connection the connection to check with
+     * @param database   the database the table is in
+     * @param table      the name of the table
+     * @param column     the name of the column
+     * @return if the column exists
+     */
+    public boolean hasColumn(Connection connection, String database, String table, String column) throws SQLException {
+        if (this == SQLITE) {
+            try (PreparedStatement statement = connection.prepareStatement("PRAGMA table_info(" + table + ")");
+                 ResultSet results = statement.executeQuery()) {
+                while (results.next()) if (results.getString("name").equalsIgnoreCase(column)) return true;
+                return false;
+            }
+        }
+        try (ResultSet columns = connection.getMetaData().getColumns(database, null, table, column)) {
+            return columns.next();
+        }
+    }
+
+    /**
+     * Check if an index exists on a table.
+     *
+     * @param connection the connection to check with
+     * @param database   the database the table is in
+     * @param table      the name of the table
+     * @param index      the name of the index
+     * @return if the index exists
+     */
+    public boolean hasIndex(Connection connection, String database, String table, String index) throws SQLException {
+        if (this == SQLITE) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT name FROM sqlite_master WHERE type='index' AND name=?")) {
+                statement.setString(1, index);
+                try (ResultSet results = statement.executeQuery()) {
+                    return results.next();
+                }
+            }
+        }
+        try (ResultSet indexes = connection.getMetaData().getIndexInfo(database, null, table, false, false)) {
+            while (indexes.next()) if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) return true;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.schema;
+
+import lombok.Getter;
+import me.innectic.permissify.api.PermissifyAPI;
+import me.innectic.permissify.api.database.ConnectionError;
+import me.innectic.permissify.api.database.pool.ConnectionPool;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.logging.Level;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Brings the database schema up to date, by running every migration newer than the version stored in the
+ * schema_version table.
+ */
+public class SchemaMigrator {
+
+    private static final int PROGRESS_INTERVAL = 100000;
+
+    @Getter private final SQLDialect dialect;
+    @Getter private final String database;
+    @Getter private final int chunkSize;
+    private final ConnectionPool.ConnectionFactory readers;
+    private final List<Migration> migrations;
+
+    /**
+     * @param dialect    the dialect of the database
+     * @param database   the name of the database being migrated
+     * @param chunkSize  how many rows to copy per transaction when moving data
+     * @param readers    opens extra connections, for streaming rows out of a table while another connection writes them
+     * @param migrations the migrations to run
+     */
+    public SchemaMigrator(SQLDialect dialect, String database, int chunkSize, ConnectionPool.ConnectionFactory readers, List<Migration> migrations) {
+        this.dialect = dialect;
+        this.database = database;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.readers = readers;
+        this.migrations = new ArrayList<>(migrations);
+        this.migrations.sort(Comparator.comparingInt(Migration::getVersion));
+    }
+
+    /**
+     * Run every migration that hasn't been applied yet.
+     *
+     * @param connection the connection to migrate with
+     * @return if the schema is up to date
+     */
+    public boolean migrate(Connection connection) {
+        try {
+            execute(connection, "CREATE TABLE IF NOT EXISTS schema_version (version INTEGER NOT NULL PRIMARY KEY, description VARCHAR(200) NOT NULL, appliedAt BIGINT NOT NULL)");
+            int current = getVersion(connection);
+            for (Migration migration : migrations) {
+                if (migration.getVersion() <= current) continue;
+
+                long start = System.currentTimeMillis();
+                PermissifyAPI.get().ifPresent(api -> api.getLogger().info("Migrating database to version " + migration.getVersion() + ": " + migration.getDescription()));
+                migration.migrate(this, connection);
+                try (PreparedStatement statement = connection.prepareStatement("INSERT INTO schema_version (version,description,appliedAt) VALUES (?,?,?)")) {
+                    statement.setInt(1, migration.getVersion());
+                    statement.setString(2, migration.getDescription());
+                    statement.setLong(3, System.currentTimeMillis());
+                    statement.execute();
+                }
+                long taken = System.currentTimeMillis() - start;
+                PermissifyAPI.get().ifPresent(api -> api.getLogger().info("Migrated database to version " + migration.getVersion() + " in " + taken + " ms."));
+            }
+            return true;
+        } catch (SQLException e) {
+            PermissifyAPI.get().ifPresent(api -> api.getDisplayUtil().displayError(ConnectionError.DATABASE_EXCEPTION, Optional.of(e)));
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Get the version the schema is currently at.
+     *
+     * @param connection the connection to check with
+     * @return the version of the schema, 0 if nothing has been applied
+     */
+    public int getVersion(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT MAX(version) FROM schema_version");
+             ResultSet results = statement.executeQuery()) {
+            return results.next() ? results.getInt(1) : 0;
+        }
+    }
+
+    public boolean hasTable(Connection connection, String table) throws SQLException {
+        return dialect.hasTable(connection, database, table);
+    }
+
+    public boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        return dialect.hasColumn(connection, database, table, column);
+    }
+
+    public boolean hasIndex(Connection connection, String table, String index) throws SQLException {
+        return dialect.hasIndex(connection, database, table, index);
+    }
+
+    public void execute(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.execute();
+        }
+    }
+
+    /**
+     * Copy every row of a table into another, committing every chunk so the copy never holds a huge transaction,
+     * or the whole table in memory.
+     *
+     * @param connection the connection to write with
+     * @param from       the table to copy from
+     * @param columns    the columns to select from the table
+     * @param insert     the statement to insert each row with
+     * @param copier     binds a row to the insert
+     * @return how many rows were read from the table
+     */
+    public long copyRows(Connection connection, String from, String columns, String insert, RowCopier copier) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insertStatement = connection.prepareStatement(insert)) {
+            if (dialect == SQLDialect.SQLITE) return copyByRowId(connection, from, columns, insertStatement, copier);
+            return copyStreaming(connection, from, columns, insertStatement, copier);
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Skip rows with values too long for the table they're copied into, and log them. MySQL would cut them down to
+     * fit, which can turn distinct rows into duplicates of each other that are then dropped. SQLite doesn't limit
+     * lengths, so nothing is skipped there.
+     *
+     * @param table   the table being copied
+     * @param lengths the longest value each limited column can hold, by column
+     * @param copier  binds the rows that fit
+     * @return the copier to copy with
+     */
+    public RowCopier skipTooLong(String table, Map<String, Integer> lengths, RowCopier copier) {
+        if (dialect != SQLDialect.MYSQL) return copier;
+        return (row, insert) -> {
+            for (Map.Entry<String, Integer> length : lengths.entrySet()) {
+                String value = row.getString(length.getKey());
+                if (value == null || value.length() <= length.getValue()) continue;
+                String skipped = describe(row);
+                PermissifyAPI.get().ifPresent(api -> api.getLogger().log(Level.WARNING, "Skipping row of " + table + ", " + length.getKey() +
+                        " is longer than " + length.getValue() + " characters: " + skipped));
+                return false;
+            }
+            return copier.copy(row, insert);
+        };
+    }
+
+    private static String describe(ResultSet row) throws SQLException {
+        ResultSetMetaData meta = row.getMetaData();
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        for (int i = 1; i <= meta.getColumnCount(); i++) joiner.add(meta.getColumnLabel(i) + "=" + row.getString(i));
+        return joiner.toString();
+    }
+
+    private long copyByRowId(Connection connection, String from, String columns, PreparedStatement insert, RowCopier copier) throws SQLException {
+        // Every SQLite table has a rowid, so we can walk through it a chunk at a time on the same connection.
+        long copied = 0;
+        long lastRow = -1;
+        try (PreparedStatement select = connection.prepareStatement("SELECT rowid AS copyRow, " + columns + " FROM " + from + " WHERE rowid > ? ORDER BY rowid LIMIT ?")) {
+            while (true) {
+                int chunk = 0;
+                select.setLong(1, lastRow);
+                select.setInt(2, chunkSize);
+                try (ResultSet results = select.executeQuery()) {
+                    while (results.next()) {
+                        lastRow = results.getLong("copyRow");
+                        chunk++;
+                        if (copier.copy(results, insert)) insert.addBatch();
+                    }
+                }
+                if (chunk == 0) break;
+                insert.executeBatch();
+                connection.commit();
+                copied = progress(from, copied, chunk);
+                if (chunk < chunkSize) break;
+            }
+        }
+        return copied;
+    }
+
+    private long copyStreaming(Connection connection, String from, String columns, PreparedStatement insert, RowCopier copier) throws SQLException {
+        // The old tables have no key to page through, so stream them out on a second connection instead.
+        long copied = 0;
+        int chunk = 0;
+        try (Connection reader = readers.create();
+             Statement select = reader.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Tells MySQL's driver to stream rows one at a time, rather than reading the whole table.
+            select.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet results = select.executeQuery("SELECT " + columns + " FROM " + from)) {
+                while (results.next()) {
+                    chunk++;
+                    if (copier.copy(results, insert)) insert.addBatch();
+                    if (chunk < chunkSize) continue;
+
+                    insert.executeBatch();
+                    connection.commit();
+                    copied = progress(from, copied, chunk);
+                    chunk = 0;
+                }
+            }
+        }
+        insert.executeBatch();
+        connection.commit();
+        return copied + chunk;
+    }
+
+    private long progress(String table, long copied, int chunk) {
+        long total = copied + chunk;
+        if (total / PROGRESS_INTERVAL != copied / PROGRESS_INTERVAL)
+            PermissifyAPI.get().ifPresent(api -> api.getLogger().log(Level.INFO, "Read " + total + " rows of " + table + "..."));
+        return total;
+    }
+
+    @FunctionalInterface
+    public interface RowCopier {
+        /**
+         * Bind a row being copied to the insert statement.
+         *
+         * @param row    the row being copied
+         * @param insert the statement to bind to
+         * @return if the row should be inserted, false to skip it
+         */
+        boolean copy(ResultSet row, PreparedStatement insert) throws SQLException;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.schema.migrations;
+
+import me.innectic.permissify.api.database.schema.Migration;
+import me.innectic.permissify.api.database.schema.SchemaMigrator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * The tables as they were before the schema was versioned. Everything is created only if it's missing, so this
+ * is safe to run against databases that already have them.
+ */
+public class BaselineMigration implements Migration {
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Baseline tables";
+    }
+
+    @Override
+    public void migrate(SchemaMigrator migrator, Connection connection) throws SQLException {
+        migrator.execute(connection, "CREATE TABLE IF NOT EXISTS groupMembers (uuid VARCHAR(767) NOT NULL, `group` VARCHAR(700) NOT NULL, `primary` TINYINT NOT NULL, ladderPosition INTEGER NOT NULL)");
+        migrator.execute(connection, "CREATE TABLE IF NOT EXISTS groupPermissions (groupName VARCHAR(767) NOT NULL, permission VARCHAR(767) NOT NULL)");
+        migrator.execute(connection, "CREATE TABLE IF NOT EXISTS groups (name VARCHAR(100) NOT NULL UNIQUE, displayName VARCHAR(100) NOT NULL, prefix VARCHAR(100) NOT NULL, suffix VARCHAR(100) NOT NULL, chatcolor VARCHAR(4) NOT NULL, defaultGroup TINYINT NOT NULL, ladder VARCHAR(767))");
+        migrator.execute(connection, "CREATE TABLE IF NOT EXISTS playerPermissions (uuid VARCHAR(767) NOT NULL, permission VARCHAR(767) NOT NULL, granted TINYINT NOT NULL)");
+        migrator.execute(connection, "CREATE TABLE IF NOT EXISTS superAdmin (uuid VARCHAR(767) NOT NULL)");
+        migrator.execute(connection, "CREATE TABLE IF NOT EXISTS ladders (name VARCHAR(767))");
+        migrator.execute(connection, "CREATE TABLE IF NOT EXISTS ladderLevels (ladder VARCHAR(767), name VARCHAR(767), power INTEGER)");
+
+        if (migrator.hasTable(connection, "formatting")) return;
+        migrator.execute(connection, "CREATE TABLE IF NOT EXISTS formatting (`format` VARCHAR(400) NOT NULL, formatter VARCHAR(200) NOT NULL)");
+
+        try (PreparedStatement defaultFormat = connection.prepareStatement("INSERT INTO formatting (`format`, formatter) VALUES (?,?)")) {
+            defaultFormat.setString(1, "{group} {username}: {message}");
+            defaultFormat.setString(2, "chat");
+            defaultFormat.execute();
+
+            defaultFormat.setString(1, "{senderGroup} {username} > {receiverGroup} {to}: {message}");
+            defaultFormat.setString(2, "whisper");
+            defaultFormat.execute();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.schema.migrations;
+
+import lombok.AllArgsConstructor;
+import me.innectic.permissify.api.PermissifyAPI;
+import me.innectic.permissify.api.database.schema.Migration;
+import me.innectic.permissify.api.database.schema.SchemaMigrator;
+import me.innectic.permissify.api.util.UUIDUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Rebuilds the player tables with keys and indexes on what we look rows up by, and stores UUIDs as 16 bytes
+ * instead of strings. Each table is copied into a new one and swapped in, so a failed run resumes on the next start.
+ */
+public class BinaryUUIDMigration implements Migration {
+
+    private static final String NEW_SUFFIX = "_v2";
+    // Keys can't be much longer on MySQL, so the columns are narrower than the old tables'.
+    private static final int PERMISSION_LENGTH = 512;
+    private static final int GROUP_LENGTH = 100;
+
+    private static final MigratedTable[] TABLES = {
+            new MigratedTable("playerPermissions",
+                    "(uuid %s NOT NULL, permission VARCHAR(" + PERMISSION_LENGTH + ") NOT NULL, granted TINYINT NOT NULL, PRIMARY KEY (uuid, permission))",
+                    new String[0],
+                    lengths("permission", PERMISSION_LENGTH),
+                    "uuid,permission,granted", "(uuid,permission,granted) VALUES (?,?,?)",
+                    (row, insert) -> {
+                        if (!bindUUID(row, insert)) return false;
+                        insert.setString(2, row.getString("permission"));
+                        insert.setBoolean(3, row.getBoolean("granted"));
+                        return true;
+                    }),
+            new MigratedTable("groupMembers",
+                    "(uuid %s NOT NULL, `group` VARCHAR(" + GROUP_LENGTH + ") NOT NULL, `primary` TINYINT NOT NULL, ladderPosition INTEGER NOT NULL, PRIMARY KEY (uuid, `group`))",
+                    new String[]{"CREATE INDEX groupMembers_group ON groupMembers" + NEW_SUFFIX + " (`group`)"},
+                    lengths("group", GROUP_LENGTH),
+                    "uuid,`group`,`primary`,ladderPosition", "(uuid,`group`,`primary`,ladderPosition) VALUES (?,?,?,?)",
+                    (row, insert) -> {
+                        if (!bindUUID(row, insert)) return false;
+                        insert.setString(2, row.getString("group"));
+                        insert.setBoolean(3, row.getBoolean("primary"));
+                        insert.setInt(4, row.getInt("ladderPosition"));
+                        return true;
+                    }),
+            new MigratedTable("groupPermissions",
+                    "(groupName VARCHAR(" + GROUP_LENGTH + ") NOT NULL, permission VARCHAR(" + PERMISSION_LENGTH + ") NOT NULL, PRIMARY KEY (groupName, permission))",
+                    new String[0],
+                    lengths("groupName", GROUP_LENGTH, "permission", PERMISSION_LENGTH),
+                    "groupName,permission", "(groupName,permission) VALUES (?,?)",
+                    (row, insert) -> {
+                        insert.setString(1, row.getString("groupName"));
+                        insert.setString(2, row.getString("permission"));
+                        return true;
+                    }),
+            new MigratedTable("superAdmin",
+                    "(uuid %s NOT NULL PRIMARY KEY)",
+                    new String[0],
+                    Collections.emptyMap(),
+                    "uuid", "(uuid) VALUES (?)",
+                    BinaryUUIDMigration::bindUUID)
+    };
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Keyed tables with binary UUIDs";
+    }
+
+    @Override
+    public void migrate(SchemaMigrator migrator, Connection connection) throws SQLException {
+        for (MigratedTable table : TABLES) {
+            String newTable = table.name + NEW_SUFFIX;
+            boolean hasOld = migrator.hasTable(connection, table.name);
+            if (!migrator.hasTable(connection, newTable)) {
+                // Already swapped in by a run that didn't get to record itself.
+                if (!hasOld) continue;
+                migrator.execute(connection, "CREATE TABLE " + newTable + " " + String.format(table.definition, migrator.getDialect().getUuidType()));
+                for (String index : table.indexes) migrator.execute(connection, index);
+            }
+
+            if (hasOld) {
+                // Ignoring conflicts drops duplicate rows, and lets an interrupted copy pick up where it stopped.
+                long read = migrator.copyRows(connection, table.name, table.columns,
+                        migrator.getDialect().getInsertIgnore() + " INTO " + newTable + " " + table.insert,
+                        migrator.skipTooLong(table.name, table.lengths, table.copier));
+                PermissifyAPI.get().ifPresent(api -> api.getLogger().info("Moved " + table.name + " (" + read + " rows read)."));
+                migrator.execute(connection, "DROP TABLE " + table.name);
+            }
+            migrator.execute(connection, "ALTER TABLE " + newTable + " RENAME TO " + table.name);
+        }
+    }
+
+    private static boolean bindUUID(ResultSet row, PreparedStatement insert) throws SQLException {
+        String uuid = row.getString("uuid");
+        try {
+            insert.setBytes(1, UUIDUtil.toBytes(UUID.fromString(uuid)));
+            return true;
+        } catch (IllegalArgumentException | NullPointerException e) {
+            PermissifyAPI.get().ifPresent(api -> api.getLogger().log(Level.WARNING, "Skipping row with invalid uuid: " + uuid));
+        }
+        return false;
+    }
+
+    private static Map<String, Integer> lengths(String column, int length) {
+        return Collections.singletonMap(column, length);
+    }
+
+    private static Map<String, Integer> lengths(String column, int length, String otherColumn, int otherLength) {
+        Map<String, Integer> lengths = new LinkedHashMap<>();
+        lengths.put(column, length);
+        lengths.put(otherColumn, otherLength);
+        return lengths;
+    }
+
+    @AllArgsConstructor
+    private static class MigratedTable {
+        private final String name;
+        private final String definition;
+        private final String[] indexes;
+        // The longest value each narrowed column can hold.
+        private final Map<String, Integer> lengths;
+        private final String columns;
+        private final String insert;
+        private final SchemaMigrator.RowCopier copier;
+    }
+}
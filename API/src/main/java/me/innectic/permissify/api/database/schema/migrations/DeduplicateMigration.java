@@ -0,0 +1,91 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.schema.migrations;
+
+import me.innectic.permissify.api.PermissifyAPI;
+import me.innectic.permissify.api.database.schema.Migration;
+import me.innectic.permissify.api.database.schema.SchemaMigrator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Cleans up what the keys can't: players with more than one primary group, and more than one default group.
+ * Duplicate rows were already dropped when the tables were keyed.
+ */
+public class DeduplicateMigration implements Migration {
+
+    @Override
+    public int getVersion() {
+        return 3;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Remove duplicate primary and default groups";
+    }
+
+    @Override
+    public void migrate(SchemaMigrator migrator, Connection connection) throws SQLException {
+        List<byte[]> players = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT uuid FROM groupMembers WHERE `primary`=1 GROUP BY uuid HAVING COUNT(*) > 1");
+             ResultSet results = statement.executeQuery()) {
+            while (results.next()) players.add(results.getBytes("uuid"));
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        // Keep whichever primary group comes first by name, so it's the same no matter which database it's on.
+        try (PreparedStatement update = connection.prepareStatement("UPDATE groupMembers SET `primary`=0 WHERE uuid=? AND `primary`=1 AND `group` <> " +
+                "(SELECT keep FROM (SELECT MIN(`group`) AS keep FROM groupMembers WHERE uuid=? AND `primary`=1) AS primaries)")) {
+            for (int i = 0; i < players.size(); i++) {
+                update.setBytes(1, players.get(i));
+                update.setBytes(2, players.get(i));
+                update.addBatch();
+                if ((i + 1) % migrator.getChunkSize() != 0) continue;
+                update.executeBatch();
+                connection.commit();
+            }
+            update.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        PermissifyAPI.get().ifPresent(api -> api.getLogger().info("Fixed " + players.size() + " players with more than one primary group."));
+
+        migrator.execute(connection, "UPDATE groups SET defaultGroup=CASE WHEN name=" +
+                "(SELECT keep FROM (SELECT MIN(name) AS keep FROM groups WHERE defaultGroup=1) AS defaults) THEN 1 ELSE 0 END");
+    }
+}
@@ -0,0 +1,64 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.schema.migrations;
+
+import me.innectic.permissify.api.database.schema.Migration;
+import me.innectic.permissify.api.database.schema.SchemaMigrator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Lets player permissions and group memberships expire. Rows without an expiry never expire, so existing rows stay
+ * permanent. The index lets the startup sweep find everything that expired with one range query per table.
+ */
+public class ExpiryMigration implements Migration {
+
+    private static final String[] TABLES = {"playerPermissions", "groupMembers"};
+
+    @Override
+    public int getVersion() {
+        return 5;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Expiring permissions and memberships";
+    }
+
+    @Override
+    public void migrate(SchemaMigrator migrator, Connection connection) throws SQLException {
+        for (String table : TABLES) {
+            // Checked one at a time, so a failed run picks up where it stopped.
+            if (!migrator.hasColumn(connection, table, "expiresAt"))
+                migrator.execute(connection, "ALTER TABLE " + table + " ADD COLUMN expiresAt BIGINT NULL");
+            if (!migrator.hasIndex(connection, table, table + "_expiresAt"))
+                migrator.execute(connection, "CREATE INDEX " + table + "_expiresAt ON " + table + " (expiresAt)");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.schema.migrations;
+
+import me.innectic.permissify.api.PermissifyAPI;
+import me.innectic.permissify.api.database.schema.Migration;
+import me.innectic.permissify.api.database.schema.SchemaMigrator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Rebuilds the ladder tables with keys, so ladders can be upserted like everything else. Copied and swapped the same
+ * way as {@link BinaryUUIDMigration}, so a failed run resumes on the next start.
+ */
+public class LadderMigration implements Migration {
+
+    private static final String NEW_SUFFIX = "_v4";
+    // Ladders and groups are keyed by name, so the names are narrower than the old tables'.
+    private static final int NAME_LENGTH = 100;
+
+    @Override
+    public int getVersion() {
+        return 4;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Keyed ladder tables";
+    }
+
+    @Override
+    public void migrate(SchemaMigrator migrator, Connection connection) throws SQLException {
+        rebuild(migrator, connection, "ladders", "(name VARCHAR(" + NAME_LENGTH + ") NOT NULL PRIMARY KEY)", "name", "(name) VALUES (?)",
+                names("name"),
+                (row, insert) -> {
+                    if (row.getString("name") == null) return false;
+                    insert.setString(1, row.getString("name"));
+                    return true;
+                });
+        rebuild(migrator, connection, "ladderLevels",
+                "(ladder VARCHAR(" + NAME_LENGTH + ") NOT NULL, name VARCHAR(" + NAME_LENGTH + ") NOT NULL, power INTEGER NOT NULL, PRIMARY KEY (ladder, name))",
+                "ladder,name,power", "(ladder,name,power) VALUES (?,?,?)",
+                names("ladder", "name"),
+                (row, insert) -> {
+                    if (row.getString("ladder") == null || row.getString("name") == null) return false;
+                    insert.setString(1, row.getString("ladder"));
+                    insert.setString(2, row.getString("name"));
+                    insert.setInt(3, row.getInt("power"));
+                    return true;
+                });
+    }
+
+    private static Map<String, Integer> names(String... columns) {
+        Map<String, Integer> lengths = new LinkedHashMap<>();
+        for (String column : columns) lengths.put(column, NAME_LENGTH);
+        return lengths;
+    }
+
+    private void rebuild(SchemaMigrator migrator, Connection connection, String table, String definition, String columns, String insert,
+                         Map<String, Integer> lengths, SchemaMigrator.RowCopier copier) throws SQLException {
+        String newTable = table + NEW_SUFFIX;
+        boolean hasOld = migrator.hasTable(connection, table);
+        if (!migrator.hasTable(connection, newTable)) {
+            // Already swapped in by a run that didn't get to record itself.
+            if (!hasOld) return;
+            migrator.execute(connection, "CREATE TABLE " + newTable + " " + definition);
+        }
+
+        if (hasOld) {
+            long read = migrator.copyRows(connection, table, columns, migrator.getDialect().getInsertIgnore() + " INTO " + newTable + " " + insert,
+                    migrator.skipTooLong(table, lengths, copier));
+            PermissifyAPI.get().ifPresent(api -> api.getLogger().info("Moved " + table + " (" + read + " rows read)."));
+            migrator.execute(connection, "DROP TABLE " + table);
+        }
+        migrator.execute(connection, "ALTER TABLE " + newTable + " RENAME TO " + table);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.format;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Every message in a class of constants, like {@link me.innectic.permissify.api.PermissifyConstants}, parsed once
+ * into {@link Template}s with their color codes already translated. Messages are looked up by their text, so callers
+ * keep passing the constants themselves.
+ */
+public class MessageTemplates {
+    private static final String OPEN = "<";
+    private static final String CLOSE = ">";
+
+    private final UnaryOperator<String> colors;
+    // Both are filled once and only read afterwards.
+    private final Map<String, Template> templates = new HashMap<>();
+    private final Map<String, String> readable = new HashMap<>();
+
+    /**
+     * Parse every message in a class of constants.
+     *
+     * @param constants the class holding the messages, as static strings or lists of them
+     * @param colors    how to translate color codes
+     */
+    public MessageTemplates(Class<?> constants, UnaryOperator<String> colors) {
+        this.colors = colors;
+        for (Field field : constants.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) continue;
+            try {
+                field.setAccessible(true);
+                add(field.get(null));
+            } catch (IllegalAccessException | SecurityException ignored) {
+                // Left out, and translated when it's used instead.
+            }
+        }
+    }
+
+    private void add(Object constant) {
+        if (constant instanceof String) {
+            String message = (String) constant;
+            Template template = Template.compile(message, OPEN, CLOSE, colors);
+            templates.put(message, template);
+            readable.put(message, template.render());
+        } else if (constant instanceof List) ((List<?>) constant).forEach(this::add);
+    }
+
+    /**
+     * Render a message, with its placeholders replaced in a single pass.
+     *
+     * @param message      the message, usually one of the constants
+     * @param replacements the name of each placeholder, without the angle brackets, followed by its value
+     * @return the rendered message, with color codes translated
+     */
+    public String render(String message, String... replacements) {
+        if (replacements.length % 2 != 0) throw new IllegalArgumentException("Every placeholder needs a value");
+        Template template = templates.get(message);
+        // Not one of ours, so it's only used this once.
+        if (template == null) template = Template.compile(message, OPEN, CLOSE, colors);
+
+        String[] values = new String[template.getPlaceholderCount()];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < replacements.length; j += 2) {
+                if (!replacements[j].equals(template.getPlaceholder(i))) continue;
+                String value = replacements[j + 1];
+                // Values used to be translated along with the message, so they still are.
+                values[i] = value.indexOf('&') == -1 ? value : colors.apply(value);
+                break;
+            }
+        }
+        return template.render(values);
+    }
+
+    /**
+     * Get a message with its color codes translated.
+     *
+     * @param message the message
+     * @return the translated message, already done if it's one of the constants
+     */
+    public String readable(String message) {
+        String translated = readable.get(message);
+        if (translated != null) return translated;
+        return message.indexOf('&') == -1 ? message : colors.apply(message);
+    }
+}
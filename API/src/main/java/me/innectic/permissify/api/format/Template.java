@@ -0,0 +1,185 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * A message with placeholders in it, like {@code {username}} or {@code <PLAYER>}, parsed once into the literal text
+ * between the placeholders. Rendering is a single pass into one builder, instead of scanning and copying the message
+ * again for every placeholder. Immutable, so one template can be rendered from any thread.
+ */
+public class Template {
+    private final String open;
+    private final String close;
+    // There's always one more literal than placeholder, literals[i] comes before placeholders[i].
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private Template(String open, String close, String[] literals, String[] placeholders) {
+        this.open = open;
+        this.close = close;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+    }
+
+    /**
+     * Parse a message into a template.
+     *
+     * @param source the message
+     * @param open   what a placeholder starts with
+     * @param close  what a placeholder ends with
+     * @return the template
+     */
+    public static Template compile(String source, String open, String close) {
+        return compile(source, open, close, UnaryOperator.identity());
+    }
+
+    /**
+     * Parse a message into a template, transforming the literal text once up front, like translating color codes.
+     * Placeholders are only letters, digits, and underscores; anything else between the delimiters is kept as text.
+     *
+     * @param source    the message
+     * @param open      what a placeholder starts with
+     * @param close     what a placeholder ends with
+     * @param transform what to do to the literal text
+     * @return the template
+     */
+    public static Template compile(String source, String open, String close, UnaryOperator<String> transform) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < source.length()) {
+            int start = source.indexOf(open, position);
+            if (start == -1) break;
+            int end = source.indexOf(close, start + open.length());
+            if (end == -1) break;
+
+            String name = source.substring(start + open.length(), end);
+            if (!isPlaceholder(name)) {
+                // Not a placeholder, keep the opening delimiter and look again right after it.
+                literal.append(source, position, start + open.length());
+                position = start + open.length();
+                continue;
+            }
+            literal.append(source, position, start);
+            literals.add(transform.apply(literal.toString()));
+            placeholders.add(name);
+            literal.setLength(0);
+            position = end + close.length();
+        }
+        literal.append(source, position, source.length());
+        literals.add(transform.apply(literal.toString()));
+        return new Template(open, close, literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    private static boolean isPlaceholder(String name) {
+        if (name.isEmpty()) return false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the placeholders, in the order they appear. The same placeholder appears once for every time it's used.
+     *
+     * @return the placeholders
+     */
+    public List<String> getPlaceholders() {
+        return Collections.unmodifiableList(Arrays.asList(placeholders));
+    }
+
+    public int getPlaceholderCount() {
+        return placeholders.length;
+    }
+
+    public String getPlaceholder(int index) {
+        return placeholders[index];
+    }
+
+    /**
+     * Render the template.
+     *
+     * @param values the value of each placeholder, in the order of {@link #getPlaceholders()}. Missing or null
+     *               values leave the placeholder as it was written.
+     * @return the rendered message
+     */
+    public String render(String... values) {
+        int length = literalLength;
+        for (int i = 0; i < placeholders.length; i++) length += valueLength(i < values.length ? values[i] : null, i);
+
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+            appendValue(builder, i < values.length ? values[i] : null, i);
+        }
+        return builder.append(literals[placeholders.length]).toString();
+    }
+
+    /**
+     * Render the template, looking up each placeholder by name.
+     *
+     * @param values the value of a placeholder, or null to leave it as it was written
+     * @return the rendered message
+     */
+    public String render(Function<String, String> values) {
+        String[] resolved = new String[placeholders.length];
+        for (int i = 0; i < placeholders.length; i++) resolved[i] = values.apply(placeholders[i]);
+        return render(resolved);
+    }
+
+    private int valueLength(String value, int placeholder) {
+        if (value != null) return value.length();
+        return open.length() + placeholders[placeholder].length() + close.length();
+    }
+
+    private void appendValue(StringBuilder builder, String value, int placeholder) {
+        if (value != null) builder.append(value);
+        else builder.append(open).append(placeholders[placeholder]).append(close);
+    }
+
+    @Override
+    public String toString() {
+        return "Template [" +
+                "literals=" + Arrays.toString(literals) +
+                ", placeholders=" + Arrays.toString(placeholders) +
+                " ]";
+    }
+}
@@ -0,0 +1,87 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import lombok.Getter;
+import me.innectic.permissify.api.util.Tristate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Everything a player has, merged from their own permissions and all of their groups. Snapshots are immutable, so
+ * they can be shared between threads, and are replaced whenever one of their inputs changes.
+ */
+public class EffectivePermissions {
+    public static final EffectivePermissions EMPTY = new EffectivePermissions(PermissionSet.EMPTY);
+
+    @Getter private final PermissionSet permissions;
+
+    private EffectivePermissions(PermissionSet permissions) {
+        this.permissions = permissions;
+        // Compile now, so nothing has to be compiled when checking.
+        permissions.trie();
+    }
+
+    /**
+     * Merge a player's permissions with their groups'. A player's own permissions always win; between groups, a
+     * denied node wins over a granted one.
+     *
+     * @param personal the player's own permissions
+     * @param groups   the permissions of each group the player is in, including what the groups inherit
+     * @return the compiled permissions
+     */
+    public static EffectivePermissions compile(PermissionSet personal, Collection<PermissionSet> groups) {
+        if (groups.isEmpty() && personal.isEmpty()) return EMPTY;
+        return new EffectivePermissions(PermissionSet.merge(groups).with(personal));
+    }
+
+    /**
+     * Check a node, taking wildcards into account.
+     *
+     * @param node the node to check
+     * @return TRUE if granted, FALSE if denied, NONE if nothing applies to the node
+     */
+    public Tristate check(String node) {
+        return permissions.resolve(node);
+    }
+
+    /**
+     * Get every node lower cased, the way attachments hold them. When nodes only differ in case, the later one wins,
+     * the same as when checking.
+     *
+     * @return each node, and if it's granted
+     */
+    public Map<String, Boolean> nodes() {
+        Map<String, Boolean> nodes = new HashMap<>(permissions.size() * 2);
+        permissions.forEach(permission -> nodes.put(permission.getPermission().toLowerCase(Locale.ROOT), permission.isGranted()));
+        return nodes;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static me.innectic.permissify.api.database.DatabaseHandler.normalizeGroupName;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Which groups inherit from which, built from the ladders. A group's parent on a ladder is the group directly below it.
+ *
+ * Each group's permissions are flattened together with everything it inherits the first time they're needed, and
+ * kept until the group, or one of its ancestors, changes. Checking a permission never has to walk the hierarchy.
+ *
+ * The same groups on two ladders in opposite orders inherit from each other. Groups in a cycle like that inherit
+ * everything the others in it have, along with what the cycle inherits from outside of it.
+ */
+public class GroupHierarchy {
+    public static final GroupHierarchy EMPTY = new GroupHierarchy(Collections.emptyMap());
+
+    // Everything is keyed by normalized group name.
+    private final Map<String, List<String>> parents;
+    private final Map<String, List<String>> children = new HashMap<>();
+    private final Map<String, PermissionSet> closures = new ConcurrentHashMap<>();
+
+    private GroupHierarchy(Map<String, List<String>> parents) {
+        this.parents = parents;
+        parents.forEach((child, groupParents) -> groupParents.forEach(parent ->
+                children.computeIfAbsent(parent, p -> new ArrayList<>()).add(child)));
+    }
+
+    /**
+     * Build the hierarchy from ladders.
+     *
+     * @param ladders the ladders to build from
+     * @return the hierarchy
+     */
+    public static GroupHierarchy of(Collection<Ladder> ladders) {
+        Map<String, List<String>> parents = new HashMap<>();
+        ladders.forEach(ladder -> ladder.getGroups().forEach(group -> ladder.getBelow(group).ifPresent(below -> {
+            List<String> groupParents = parents.computeIfAbsent(normalizeGroupName(group), g -> new ArrayList<>());
+            if (!groupParents.contains(normalizeGroupName(below))) groupParents.add(normalizeGroupName(below));
+        })));
+        return parents.isEmpty() ? EMPTY : new GroupHierarchy(parents);
+    }
+
+    /**
+     * Get every group a group inherits from, directly or not.
+     *
+     * @param group the name of the group
+     * @return the normalized names of its ancestors
+     */
+    public Set<String> getAncestors(String group) {
+        return walk(normalizeGroupName(group), parents);
+    }
+
+    /**
+     * Get every group that inherits from a group, directly or not.
+     *
+     * @param group the name of the group
+     * @return the normalized names of its descendants
+     */
+    public Set<String> getDescendants(String group) {
+        return walk(normalizeGroupName(group), children);
+    }
+
+    private static Set<String> walk(String start, Map<String, List<String>> edges) {
+        Set<String> found = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>(edges.getOrDefault(start, Collections.emptyList()));
+        while (!pending.isEmpty()) {
+            String next = pending.pop();
+            // The same group on ladders in a different order can make a cycle.
+            if (next.equals(start) || !found.add(next)) continue;
+            pending.addAll(edges.getOrDefault(next, Collections.emptyList()));
+        }
+        return found;
+    }
+
+    /**
+     * Get a group's permissions, along with everything it inherits. A group's own permissions override what it
+     * inherits, and between parents a denied node wins over a granted one.
+     *
+     * @param group  the group
+     * @param lookup finds groups by name
+     * @return the flattened permissions
+     */
+    public PermissionSet getClosure(PermissionGroup group, Function<String, Optional<PermissionGroup>> lookup) {
+        String name = normalizeGroupName(group.getName());
+        PermissionSet closure = closures.get(name);
+        if (closure != null) return closure;
+        if (!parents.containsKey(name)) return group.getPermissions();
+
+        // Only parents outside of the group's cycle are recursed into, so this always ends.
+        Set<String> cycle = getCycle(name);
+        Set<String> outside = new LinkedHashSet<>();
+        List<PermissionSet> inherited = new ArrayList<>();
+        cycle.forEach(member -> {
+            if (!member.equals(name)) lookup.apply(member).ifPresent(memberGroup -> inherited.add(memberGroup.getPermissions()));
+            parents.getOrDefault(member, Collections.emptyList()).forEach(parent -> {
+                if (!cycle.contains(parent)) outside.add(parent);
+            });
+        });
+        outside.forEach(parent -> lookup.apply(parent).ifPresent(parentGroup -> inherited.add(getClosure(parentGroup, lookup))));
+        closure = PermissionSet.merge(inherited).with(group.getPermissions());
+
+        closures.put(name, closure);
+        return closure;
+    }
+
+    /**
+     * Get the closures a player in some groups gets. A group that's already inherited by another of the groups is
+     * left out, unless they inherit from each other.
+     *
+     * @param groups the groups
+     * @param lookup finds groups by name
+     * @return the flattened permissions of each group that isn't already covered
+     */
+    public List<PermissionSet> getClosures(Collection<PermissionGroup> groups, Function<String, Optional<PermissionGroup>> lookup) {
+        Map<String, Set<String>> ancestors = new HashMap<>();
+        groups.forEach(group -> ancestors.put(normalizeGroupName(group.getName()), getAncestors(group.getName())));
+        List<PermissionSet> closures = new ArrayList<>(groups.size());
+        groups.forEach(group -> {
+            String name = normalizeGroupName(group.getName());
+            boolean covered = ancestors.entrySet().stream().anyMatch(other -> other.getValue().contains(name)
+                    && !ancestors.get(name).contains(other.getKey()));
+            if (!covered) closures.add(getClosure(group, lookup));
+        });
+        return closures;
+    }
+
+    /**
+     * Get the groups in the same cycle as a group: the ones that are both its ancestors and its descendants.
+     *
+     * @param group the normalized name of the group
+     * @return the group, and every other group in its cycle
+     */
+    private Set<String> getCycle(String group) {
+        Set<String> cycle = new LinkedHashSet<>();
+        cycle.add(group);
+        Set<String> descendants = getDescendants(group);
+        getAncestors(group).stream().filter(descendants::contains).forEach(cycle::add);
+        return cycle;
+    }
+
+    /**
+     * Drop the flattened permissions of a group, and of everything that inherits from it.
+     *
+     * @param group the name of the group that changed
+     * @return the normalized names of the group and its descendants
+     */
+    public Set<String> invalidate(String group) {
+        Set<String> affected = getDescendants(group);
+        affected.add(normalizeGroupName(group));
+        affected.forEach(closures::remove);
+        return affected;
+    }
+}
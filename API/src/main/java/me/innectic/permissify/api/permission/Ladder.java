@@ -0,0 +1,123 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static me.innectic.permissify.api.database.DatabaseHandler.normalizeGroupName;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * A ladder of groups, each with a power. Every group on a ladder inherits the permissions of the groups below it.
+ * Ladders are immutable, changes return a new ladder.
+ */
+public class Ladder {
+    @Getter private final String name;
+    // Group name to power
+    private final Map<String, Integer> levels;
+
+    public Ladder(String name) {
+        this(name, Collections.emptyMap());
+    }
+
+    private Ladder(String name, Map<String, Integer> levels) {
+        this.name = name;
+        this.levels = levels;
+    }
+
+    public Map<String, Integer> getLevels() {
+        return Collections.unmodifiableMap(levels);
+    }
+
+    /**
+     * @return the names of the groups on the ladder, lowest power first
+     */
+    public List<String> getGroups() {
+        return levels.entrySet().stream().sorted(Map.Entry.comparingByValue()).map(Map.Entry::getKey).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the group directly below another on the ladder.
+     *
+     * @param group the name of the group
+     * @return the group below it, empty if it's the bottom, or not on the ladder
+     */
+    public Optional<String> getBelow(String group) {
+        Optional<Integer> power = getPower(group);
+        if (!power.isPresent()) return Optional.empty();
+        return levels.entrySet().stream()
+                .filter(level -> level.getValue() < power.get())
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey);
+    }
+
+    public Optional<Integer> getPower(String group) {
+        return find(group).map(levels::get);
+    }
+
+    public boolean hasGroup(String group) {
+        return find(group).isPresent();
+    }
+
+    /**
+     * Put a group on the ladder, or move it if it's already there.
+     *
+     * @param group the name of the group
+     * @param power the power of the group
+     * @return the new ladder
+     */
+    public Ladder with(String group, int power) {
+        Map<String, Integer> updated = new HashMap<>(levels);
+        find(group).ifPresent(updated::remove);
+        updated.put(group, power);
+        return new Ladder(name, updated);
+    }
+
+    public Ladder without(String group) {
+        Optional<String> existing = find(group);
+        if (!existing.isPresent()) return this;
+        Map<String, Integer> updated = new HashMap<>(levels);
+        updated.remove(existing.get());
+        return new Ladder(name, updated);
+    }
+
+    private Optional<String> find(String group) {
+        String normalized = normalizeGroupName(group);
+        return levels.keySet().stream().filter(name -> normalizeGroupName(name).equals(normalized)).findFirst();
+    }
+
+    @Override
+    public String toString() {
+        return "Ladder [" +
+                "name=" + name +
+                ", levels=" + levels +
+                " ]";
+    }
+}
@@ -0,0 +1,86 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * A rough estimate of the heap used by cached permissions, compared to storing each one as its own {@link Permission}
+ * and node string in a list. Sizes assume a 64 bit JVM with compressed references.
+ */
+@Getter
+@AllArgsConstructor
+public class MemoryReport {
+    private final int entries;
+    private final int distinctNodes;
+    private final long encodedBytes;
+    private final long legacyBytes;
+
+    /**
+     * Build a report for some permission sets, and the dictionary they share.
+     *
+     * @param sets the sets to report on
+     * @return the report
+     */
+    public static MemoryReport of(Collection<PermissionSet> sets) {
+        int entries = 0;
+        long encoded = 0;
+        long legacy = 0;
+        for (PermissionSet set : sets) {
+            entries += set.size();
+            encoded += set.estimateBytes();
+            // ArrayList, and its backing array
+            legacy += align(24) + align(16 + 4L * set.size());
+            for (int i = 0; i < set.size(); i++) {
+                // The Permission, and its own copy of the node
+                legacy += align(12 + 4 + 1) + stringBytes(NodeDictionary.node(set.nodeId(i)));
+            }
+        }
+        int distinct = NodeDictionary.size();
+        for (int id = 0; id < distinct; id++) {
+            // The node, its map entry and boxed id, and its slot in the id array
+            encoded += stringBytes(NodeDictionary.node(id)) + align(32) + align(16) + 4;
+        }
+        return new MemoryReport(entries, distinct, encoded, legacy);
+    }
+
+    private static long stringBytes(String node) {
+        return align(24) + align(16 + 2L * node.length());
+    }
+
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    public long getSavedBytes() {
+        return legacyBytes - encodedBytes;
+    }
+}
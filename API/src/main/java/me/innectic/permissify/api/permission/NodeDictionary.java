@@ -0,0 +1,95 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Maps every permission node to a dense int id, so each node string is only held once no matter how many groups and
+ * players have it. Ids are never reused, and the dictionary only grows.
+ */
+public class NodeDictionary {
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] nodes = new String[256];
+    private static int size = 0;
+
+    /**
+     * Get the id of a node, adding it to the dictionary if needed.
+     *
+     * @param node the node to intern
+     * @return the id of the node
+     */
+    public static int intern(String node) {
+        Integer id = ids.get(node);
+        if (id != null) return id;
+        synchronized (NodeDictionary.class) {
+            id = ids.get(node);
+            if (id != null) return id;
+            String[] current = nodes;
+            if (size == current.length) {
+                String[] grown = new String[current.length * 2];
+                System.arraycopy(current, 0, grown, 0, size);
+                current = grown;
+            }
+            current[size] = node;
+            // Publish the node before its id, so anyone who sees the id can look it up.
+            nodes = current;
+            ids.put(node, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Get the id of a node, without adding it.
+     *
+     * @param node the node to find
+     * @return the id of the node, or -1 if it's never been interned
+     */
+    public static int find(String node) {
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Get the node for an id.
+     *
+     * @param id the id of the node
+     * @return the node
+     */
+    public static String node(int id) {
+        return nodes[id];
+    }
+
+    /**
+     * @return how many distinct nodes have been interned
+     */
+    public static int size() {
+        return ids.size();
+    }
+}
@@ -26,7 +26,6 @@ package me.innectic.permissify.api.permission;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 
 /**
  * @author Innectic
@@ -34,8 +33,8 @@ import lombok.Setter;
  */
 @AllArgsConstructor
 public class Permission {
-    @Getter private String permission;
-    @Getter @Setter private boolean granted;
+    @Getter private final String permission;
+    @Getter private final boolean granted;
 
     @Override
     public String toString() {
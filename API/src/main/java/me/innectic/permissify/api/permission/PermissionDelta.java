@@ -0,0 +1,81 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * What changed between two sets of permissions: the nodes that were added or changed their granted state, and the
+ * nodes that are gone. Applying a delta to something holding the old set leaves it holding the new one.
+ */
+public class PermissionDelta {
+    public static final PermissionDelta EMPTY = new PermissionDelta(Collections.emptyList(), Collections.emptyList());
+
+    @Getter private final List<Permission> added;
+    @Getter private final List<String> removed;
+
+    private PermissionDelta(List<Permission> added, List<String> removed) {
+        this.added = added;
+        this.removed = removed;
+    }
+
+    /**
+     * Work out what changed between two sets.
+     *
+     * @param before the old permissions
+     * @param after  the new permissions
+     * @return the changes, or {@link #EMPTY} if nothing changed
+     */
+    public static PermissionDelta between(PermissionSet before, PermissionSet after) {
+        if (before == after) return EMPTY;
+        List<Permission> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (Permission permission : after) {
+            String node = permission.getPermission();
+            if (!before.contains(node) || before.isGranted(node) != permission.isGranted()) added.add(permission);
+        }
+        for (Permission permission : before) {
+            if (!after.contains(permission.getPermission())) removed.add(permission.getPermission());
+        }
+        if (added.isEmpty() && removed.isEmpty()) return EMPTY;
+        return new PermissionDelta(Collections.unmodifiableList(added), Collections.unmodifiableList(removed));
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "PermissionDelta{added=" + added + ", removed=" + removed + "}";
+    }
+}
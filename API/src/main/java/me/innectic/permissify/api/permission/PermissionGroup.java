@@ -42,16 +42,17 @@ public class PermissionGroup {
     @Getter @NonNull private String prefix;
     @Getter @NonNull private String suffix;
 
-    @Getter private List<Permission> permissions = new ArrayList<>();
-    @Getter private Map<UUID, Boolean> players = new HashMap<>();
+    // Both are immutable snapshots, replaced whole under the group's lock, so they can be read from any thread.
+    @Getter private volatile PermissionSet permissions = PermissionSet.EMPTY;
+    @Getter private volatile Map<UUID, Boolean> players = Collections.emptyMap();
 
     /**
      * Remove a permission from the group
      *
      * @param permission the permission to remove
      */
-    public void removePermission(String permission) {
-        permissions.removeIf(p -> p.getPermission().equals(permission));
+    public synchronized void removePermission(String permission) {
+        permissions = permissions.without(permission);
     }
 
     /**
@@ -59,22 +60,34 @@ public class PermissionGroup {
      *
      * @param permission the permission to add
      */
-    public void addPermission(String permission) {
-        Optional<Permission> perm = permissions.stream().filter(groupPermission -> groupPermission.getPermission().equals(permission)).findFirst();
-        if (perm.isPresent()) perm.get().setGranted(true);
-        else permissions.add(new Permission(permission, true));
+    public synchronized void addPermission(String permission) {
+        permissions = permissions.with(new Permission(permission, true));
+    }
+
+    /**
+     * Add several permissions to the group, copying the set once.
+     *
+     * @param added the permissions to add
+     */
+    public synchronized void addPermissions(Collection<Permission> added) {
+        permissions = permissions.with(added);
     }
 
     public boolean hasPermission(String permission) {
-        return permissions.stream().anyMatch(perm -> perm.getPermission().equals(permission));
+        return permissions.contains(permission);
     }
 
-    public void addPlayer(UUID uuid, boolean isPrimary) {
-        players.put(uuid, isPrimary);
+    public synchronized void addPlayer(UUID uuid, boolean isPrimary) {
+        Map<UUID, Boolean> updated = new HashMap<>(players);
+        updated.put(uuid, isPrimary);
+        players = Collections.unmodifiableMap(updated);
     }
 
-    public void removePlayer(UUID uuid) {
-        players.remove(uuid);
+    public synchronized void removePlayer(UUID uuid) {
+        if (!players.containsKey(uuid)) return;
+        Map<UUID, Boolean> updated = new HashMap<>(players);
+        updated.remove(uuid);
+        players = Collections.unmodifiableMap(updated);
     }
 
     public boolean hasPlayer(UUID uuid) {
@@ -82,11 +95,11 @@ public class PermissionGroup {
     }
 
     public boolean isPrimaryGroup(UUID uuid) {
-        return players.containsKey(uuid) && players.get(uuid).equals(true);
+        return players.getOrDefault(uuid, false);
     }
 
     public void setPrimaryGroup(UUID uuid, boolean isPrimary) {
-        players.put(uuid, isPrimary);
+        addPlayer(uuid, isPrimary);
     }
 
     @Override
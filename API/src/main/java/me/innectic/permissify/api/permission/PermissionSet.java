@@ -0,0 +1,317 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import me.innectic.permissify.api.util.Tristate;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * An immutable set of permissions, indexed by node, that iterates in the order the nodes were added.
+ * Changes return a new set, so a set can be shared between threads freely.
+ *
+ * Nodes are stored as their {@link NodeDictionary} ids, with an open addressing table from id to position, so looking
+ * a node up doesn't allocate. {@link Permission}s are only created when the set is iterated.
+ */
+public class PermissionSet implements Iterable<Permission> {
+    public static final PermissionSet EMPTY = new PermissionSet(new int[0], new boolean[0], 0);
+
+    private final int[] nodes;
+    private final boolean[] granted;
+    // Position + 1 of the node in each slot, 0 for an empty slot.
+    private final int[] table;
+    // Compiled the first time a node is resolved against this set.
+    private volatile PermissionTrie trie;
+
+    private PermissionSet(int[] nodes, boolean[] granted, int size) {
+        this.nodes = nodes.length == size ? nodes : Arrays.copyOf(nodes, size);
+        this.granted = granted.length == size ? granted : Arrays.copyOf(granted, size);
+        this.table = new int[tableSize(size)];
+        for (int i = 0; i < size; i++) table[slot(table, this.nodes, this.nodes[i])] = i + 1;
+    }
+
+    /**
+     * Create a set from permissions. Later permissions for the same node replace earlier ones.
+     *
+     * @param permissions the permissions to include
+     * @return the set
+     */
+    public static PermissionSet of(Iterable<Permission> permissions) {
+        return EMPTY.with(permissions);
+    }
+
+    /**
+     * Merge sets together. A node denied by any of them is denied, even if another grants it. Nodes that only differ
+     * in case are the same node here, like they are when resolving.
+     *
+     * @param sets the sets to merge
+     * @return the merged set
+     */
+    public static PermissionSet merge(Collection<PermissionSet> sets) {
+        if (sets.size() == 1) return sets.iterator().next();
+        Map<String, Permission> merged = new LinkedHashMap<>();
+        sets.forEach(set -> set.forEach(permission -> merged.merge(permission.getPermission().toLowerCase(Locale.ROOT), permission,
+                (existing, added) -> existing.isGranted() ? added : existing)));
+        return of(merged.values());
+    }
+
+    private static int tableSize(int size) {
+        int tableSize = 1;
+        while (tableSize < size * 2) tableSize <<= 1;
+        return tableSize;
+    }
+
+    /**
+     * Find the slot a node is in, or the empty slot it would go in.
+     */
+    private static int slot(int[] table, int[] nodes, int id) {
+        int mask = table.length - 1;
+        int hash = id * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (table[slot] != 0 && nodes[table[slot] - 1] != id) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private int indexOf(String node) {
+        if (nodes.length == 0) return -1;
+        int id = NodeDictionary.find(node);
+        if (id < 0) return -1;
+        return table[slot(table, nodes, id)] - 1;
+    }
+
+    /**
+     * Get the permission for a node.
+     *
+     * @param node the node to get
+     * @return the permission, or null if the node isn't in the set
+     */
+    public Permission get(String node) {
+        int index = indexOf(node);
+        return index < 0 ? null : new Permission(NodeDictionary.node(nodes[index]), granted[index]);
+    }
+
+    public boolean contains(String node) {
+        return indexOf(node) >= 0;
+    }
+
+    /**
+     * Is a node in the set, and granted?
+     *
+     * @param node the node to check
+     * @return if the node is granted
+     */
+    public boolean isGranted(String node) {
+        int index = indexOf(node);
+        return index >= 0 && granted[index];
+    }
+
+    /**
+     * Resolve a node against the set, taking wildcards into account.
+     *
+     * @param node the node to resolve
+     * @return TRUE if granted, FALSE if denied, NONE if nothing in the set applies to it
+     * @see PermissionTrie
+     */
+    public Tristate resolve(String node) {
+        return trie().resolve(node);
+    }
+
+    PermissionTrie trie() {
+        PermissionTrie compiled = trie;
+        if (compiled == null) trie = compiled = PermissionTrie.compile(this);
+        return compiled;
+    }
+
+    /**
+     * Add permissions to the set. A node that's already in the set keeps its place, but takes the new value.
+     *
+     * @param added the permissions to add
+     * @return the new set, or this one if nothing changed
+     */
+    public PermissionSet with(Iterable<Permission> added) {
+        int[] newNodes = nodes;
+        boolean[] newGranted = granted;
+        int[] newTable = table;
+        int size = nodes.length;
+        boolean changed = false;
+        for (Permission permission : added) {
+            int id = NodeDictionary.intern(permission.getPermission());
+            if (!changed) {
+                int index = indexOf(permission.getPermission());
+                if (index >= 0 && granted[index] == permission.isGranted()) continue;
+                // First change, so copy everything before touching it.
+                newNodes = Arrays.copyOf(nodes, Math.max(4, nodes.length * 2));
+                newGranted = Arrays.copyOf(granted, newNodes.length);
+                newTable = rehash(newNodes, size, tableSize(newNodes.length));
+                changed = true;
+            }
+            int slot = slot(newTable, newNodes, id);
+            if (newTable[slot] != 0) {
+                newGranted[newTable[slot] - 1] = permission.isGranted();
+                continue;
+            }
+            if (size == newNodes.length) {
+                newNodes = Arrays.copyOf(newNodes, size * 2);
+                newGranted = Arrays.copyOf(newGranted, newNodes.length);
+                newTable = rehash(newNodes, size, tableSize(newNodes.length));
+                slot = slot(newTable, newNodes, id);
+            }
+            newNodes[size] = id;
+            newGranted[size] = permission.isGranted();
+            newTable[slot] = ++size;
+        }
+        return changed ? new PermissionSet(newNodes, newGranted, size) : this;
+    }
+
+    private static int[] rehash(int[] nodes, int size, int tableSize) {
+        int[] table = new int[tableSize];
+        for (int i = 0; i < size; i++) table[slot(table, nodes, nodes[i])] = i + 1;
+        return table;
+    }
+
+    public PermissionSet with(Permission... added) {
+        return with(Arrays.asList(added));
+    }
+
+    /**
+     * Remove nodes from the set.
+     *
+     * @param removed the nodes to remove
+     * @return the new set, or this one if nothing changed
+     */
+    public PermissionSet without(String... removed) {
+        boolean[] drop = null;
+        for (String node : removed) {
+            int index = indexOf(node);
+            if (index < 0) continue;
+            if (drop == null) drop = new boolean[nodes.length];
+            drop[index] = true;
+        }
+        if (drop == null) return this;
+
+        int[] newNodes = new int[nodes.length];
+        boolean[] newGranted = new boolean[nodes.length];
+        int size = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            if (drop[i]) continue;
+            newNodes[size] = nodes[i];
+            newGranted[size++] = granted[i];
+        }
+        return new PermissionSet(newNodes, newGranted, size);
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public boolean isEmpty() {
+        return nodes.length == 0;
+    }
+
+    public Stream<Permission> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public List<Permission> toList() {
+        List<Permission> permissions = new ArrayList<>(nodes.length);
+        forEach(permissions::add);
+        return permissions;
+    }
+
+    /**
+     * Estimate how much heap this set takes up, not counting the node strings themselves, which live in the
+     * {@link NodeDictionary}.
+     *
+     * @return the estimated size, in bytes
+     */
+    public long estimateBytes() {
+        return MemoryReport.align(12 + 3 * 4)
+                + MemoryReport.align(16 + 4L * nodes.length)
+                + MemoryReport.align(16 + (long) granted.length)
+                + MemoryReport.align(16 + 4L * table.length);
+    }
+
+    int nodeId(int index) {
+        return nodes[index];
+    }
+
+    @Override
+    public Spliterator<Permission> spliterator() {
+        return Spliterators.spliterator(iterator(), nodes.length, Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL | Spliterator.DISTINCT);
+    }
+
+    @Override
+    public Iterator<Permission> iterator() {
+        return new Iterator<Permission>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < nodes.length;
+            }
+
+            @Override
+            public Permission next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Permission permission = new Permission(NodeDictionary.node(nodes[index]), granted[index]);
+                index++;
+                return permission;
+            }
+        };
+    }
+
+    /**
+     * Sets are equal if they hold the same nodes with the same values, in any order.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PermissionSet)) return false;
+        PermissionSet other = (PermissionSet) o;
+        if (other.nodes.length != nodes.length) return false;
+        for (int i = 0; i < nodes.length; i++) {
+            int index = other.table[slot(other.table, other.nodes, nodes[i])] - 1;
+            if (index < 0 || other.granted[index] != granted[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < nodes.length; i++) hash += nodes[i] * 31 + (granted[i] ? 1 : 0);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
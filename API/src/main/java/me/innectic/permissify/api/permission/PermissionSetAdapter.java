@@ -0,0 +1,84 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Stores a {@link PermissionSet} as a plain array of permissions, the same way profiles stored lists of them before.
+ */
+public class PermissionSetAdapter extends TypeAdapter<PermissionSet> {
+
+    @Override
+    public void write(JsonWriter out, PermissionSet set) throws IOException {
+        if (set == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (Permission permission : set) {
+            out.beginObject();
+            out.name("permission").value(permission.getPermission());
+            out.name("granted").value(permission.isGranted());
+            out.endObject();
+        }
+        out.endArray();
+    }
+
+    @Override
+    public PermissionSet read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return PermissionSet.EMPTY;
+        }
+        List<Permission> permissions = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            String node = null;
+            boolean granted = true;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (name.equals("permission")) node = in.nextString();
+                else if (name.equals("granted")) granted = in.nextBoolean();
+                else in.skipValue();
+            }
+            in.endObject();
+            if (node != null) permissions.add(new Permission(node, granted));
+        }
+        in.endArray();
+        return PermissionSet.of(permissions);
+    }
+}
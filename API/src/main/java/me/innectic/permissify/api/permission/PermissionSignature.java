@@ -0,0 +1,65 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static me.innectic.permissify.api.database.DatabaseHandler.normalizeGroupName;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Everything {@link EffectivePermissions} are compiled from: the groups a player is in, and their own permissions.
+ * Two players with equal signatures have equal effective permissions, as long as none of the groups have changed.
+ */
+public class PermissionSignature {
+    @Getter private final List<String> groups;
+    @Getter private final PermissionSet personal;
+    private final int hash;
+
+    public PermissionSignature(Collection<PermissionGroup> groups, PermissionSet personal) {
+        this.groups = groups.stream().map(group -> normalizeGroupName(group.getName())).sorted().collect(Collectors.toList());
+        this.personal = personal;
+        this.hash = 31 * this.groups.hashCode() + personal.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PermissionSignature)) return false;
+        PermissionSignature other = (PermissionSignature) o;
+        return hash == other.hash && groups.equals(other.groups) && personal.equals(other.personal);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import me.innectic.permissify.api.util.Tristate;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Permission nodes compiled into a trie of their dot separated segments, so wildcards can be resolved.
+ *
+ * A node ending in {@code .*} applies to everything below it, and {@code *} on its own applies to everything. When
+ * more than one entry applies, the most specific one wins: an exact node beats any wildcard, and a deeper wildcard
+ * beats a shallower one. Resolving a node takes time proportional to how many segments it has, not how many nodes
+ * were compiled.
+ *
+ * Nodes are matched ignoring case, the same way Bukkit matches them.
+ */
+public class PermissionTrie {
+    public static final String WILDCARD = "*";
+
+    private final Segment root = new Segment();
+
+    private static class Segment {
+        private Map<String, Segment> children;
+        private Tristate value = Tristate.NONE;
+        private Tristate wildcard = Tristate.NONE;
+
+        private Segment child(String segment) {
+            if (children == null) children = new HashMap<>(4);
+            return children.computeIfAbsent(segment, s -> new Segment());
+        }
+    }
+
+    private PermissionTrie() {
+    }
+
+    /**
+     * Compile permissions into a trie.
+     *
+     * @param permissions the permissions to compile
+     * @return the trie
+     */
+    public static PermissionTrie compile(Iterable<Permission> permissions) {
+        PermissionTrie trie = new PermissionTrie();
+        permissions.forEach(permission -> trie.add(permission.getPermission(), permission.isGranted()));
+        return trie;
+    }
+
+    private void add(String permission, boolean granted) {
+        String node = permission.toLowerCase(Locale.ROOT);
+        Tristate value = granted ? Tristate.TRUE : Tristate.FALSE;
+        Segment current = root;
+        int start = 0;
+        while (true) {
+            int end = node.indexOf('.', start);
+            if (end < 0) end = node.length();
+            String segment = node.substring(start, end);
+            if (end == node.length()) {
+                if (segment.equals(WILDCARD)) current.wildcard = value;
+                else current.child(segment).value = value;
+                return;
+            }
+            current = current.child(segment);
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Resolve a node against the trie.
+     *
+     * @param permission the node to resolve
+     * @return TRUE if granted, FALSE if denied, NONE if nothing applies to the node
+     */
+    public Tristate resolve(String permission) {
+        String node = permission.toLowerCase(Locale.ROOT);
+        Tristate result = root.wildcard;
+        Segment current = root;
+        int start = 0;
+        while (true) {
+            int end = node.indexOf('.', start);
+            if (end < 0) end = node.length();
+            Segment next = current.children == null ? null : current.children.get(node.substring(start, end));
+            if (next == null) return result;
+            if (end == node.length()) return next.value != Tristate.NONE ? next.value : result;
+            if (next.wildcard != Tristate.NONE) result = next.wildcard;
+            current = next;
+            start = end + 1;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * The groups a single player is in, and which of them is their primary. Immutable; changes return a new copy.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PlayerGroups {
+    public static final PlayerGroups EMPTY = new PlayerGroups(Collections.emptyList(), Optional.empty());
+
+    @Getter private final List<PermissionGroup> groups;
+    @Getter private final Optional<PermissionGroup> primary;
+
+    /**
+     * Add a group, replacing it if the player's already in it.
+     *
+     * @param group     the group to add
+     * @param isPrimary if the group is the player's primary group
+     * @return the updated groups
+     */
+    public PlayerGroups with(PermissionGroup group, boolean isPrimary) {
+        List<PermissionGroup> updated = new ArrayList<>(groups.size() + 1);
+        for (PermissionGroup existing : groups) if (!existing.getName().equals(group.getName())) updated.add(existing);
+        updated.add(group);
+
+        Optional<PermissionGroup> updatedPrimary = primary;
+        if (isPrimary) updatedPrimary = Optional.of(group);
+        else if (primary.isPresent() && primary.get().getName().equals(group.getName())) updatedPrimary = Optional.empty();
+        return new PlayerGroups(Collections.unmodifiableList(updated), updatedPrimary);
+    }
+
+    /**
+     * Remove a group.
+     *
+     * @param group the group to remove
+     * @return the updated groups
+     */
+    public PlayerGroups without(PermissionGroup group) {
+        List<PermissionGroup> updated = new ArrayList<>(groups);
+        if (!updated.removeIf(existing -> existing.getName().equals(group.getName()))) return this;
+        if (updated.isEmpty()) return EMPTY;
+
+        Optional<PermissionGroup> updatedPrimary = primary.filter(existing -> !existing.getName().equals(group.getName()));
+        return new PlayerGroups(Collections.unmodifiableList(updated), updatedPrimary);
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerGroups [" +
+                "groups=" + groups +
+                ", primary=" + primary.map(PermissionGroup::getName).orElse("none") +
+                " ]";
+    }
+}
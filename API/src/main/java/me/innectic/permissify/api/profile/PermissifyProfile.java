@@ -26,8 +26,9 @@ package me.innectic.permissify.api.profile;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import me.innectic.permissify.api.permission.Permission;
+import me.innectic.permissify.api.permission.Ladder;
 import me.innectic.permissify.api.permission.PermissionGroup;
+import me.innectic.permissify.api.permission.PermissionSet;
 
 import java.util.List;
 import java.util.Map;
@@ -40,9 +41,10 @@ import java.util.UUID;
 @AllArgsConstructor
 public class PermissifyProfile {
     @Getter private final Map<String, PermissionGroup> groups;
-    @Getter private Map<UUID, List<Permission>> playerPermissions;
+    @Getter private Map<UUID, PermissionSet> playerPermissions;
     @Getter private PermissionGroup defaultGroup;
     @Getter private List<UUID> superAdmins;
+    @Getter private Map<String, Ladder> ladders;
     @Getter private int version;
 
     @Override
@@ -52,6 +54,7 @@ public class PermissifyProfile {
                 ", playerPermissions=" + playerPermissions +
                 ", defaultGroup=" + defaultGroup +
                 ", superAdmins=" + superAdmins +
+                ", ladders=" + ladders +
                 ", version=" + version +
                 " ]";
     }
@@ -26,6 +26,8 @@ package me.innectic.permissify.api.profile;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import me.innectic.permissify.api.permission.PermissionSet;
+import me.innectic.permissify.api.permission.PermissionSetAdapter;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -43,7 +45,7 @@ public class ProfileSerializer {
 
     public ProfileSerializer() {
         GsonBuilder gsonBuilder = new GsonBuilder();
-//        gsonBuilder.registerTypeAdapter(AbstractLadder.class, new LadderAdapter());
+        gsonBuilder.registerTypeAdapter(PermissionSet.class, new PermissionSetAdapter());
         gson = gsonBuilder.create();
     }
 
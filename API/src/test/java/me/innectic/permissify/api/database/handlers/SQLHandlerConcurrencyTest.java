@@ -0,0 +1,212 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.handlers;
+
+import me.innectic.permissify.api.PermissifyAPI;
+import me.innectic.permissify.api.database.ConnectionInformation;
+import me.innectic.permissify.api.database.DatabaseHandler;
+import me.innectic.permissify.api.permission.Permission;
+import me.innectic.permissify.api.permission.PermissionGroup;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Changes permissions and groups from many threads at once, while reloads race with the writes, and checks that
+ * nothing is lost from the cache or from the database once it's opened again. Also races loads, which read without
+ * the handler's lock, with writes to the players being loaded.
+ */
+public class SQLHandlerConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 300;
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void concurrentChangesAreNotLost() throws Exception {
+        String file = folder.newFile("permissify.db").getAbsolutePath();
+        UUID player = UUID.randomUUID();
+        Set<String> playerPermissions = ConcurrentHashMap.newKeySet();
+        Set<String> groupPermissions = ConcurrentHashMap.newKeySet();
+        Set<UUID> members = ConcurrentHashMap.newKeySet();
+
+        DatabaseHandler handler = open(file);
+        handler.createGroup("staff", "Staff", "", "", "7");
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int owner = thread;
+            futures.add(threads.submit(() -> {
+                start.await();
+                PermissionGroup staff = handler.getGroup("staff").get();
+                for (int round = 0; round < ROUNDS; round++) {
+                    String node = "t" + owner + ".p" + round;
+                    handler.addPermission(player, node);
+                    playerPermissions.add(node);
+                    if (round % 3 == 0) {
+                        handler.removePermission(player, node);
+                        playerPermissions.remove(node);
+                    }
+
+                    String groupNode = "t" + owner + ".g" + round;
+                    handler.addGroupPermission("staff", groupNode);
+                    groupPermissions.add(groupNode);
+                    if (round % 5 == 0) {
+                        handler.removeGroupPermission("staff", groupNode);
+                        groupPermissions.remove(groupNode);
+                    }
+
+                    UUID member = UUID.randomUUID();
+                    handler.addPlayerToGroup(member, staff);
+                    members.add(member);
+                    if (round % 4 == 0) {
+                        handler.removePlayerFromGroup(member, staff);
+                        members.remove(member);
+                    }
+                    // Reloads flush and read back while everyone else keeps writing.
+                    if (owner == 0 && round % 50 == 0) handler.reload(Collections.singletonList(player));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) future.get(2, TimeUnit.MINUTES);
+        threads.shutdown();
+
+        assertState(handler, player, playerPermissions, groupPermissions, members);
+        handler.shutdown();
+
+        DatabaseHandler reopened = open(file);
+        assertState(reopened, player, playerPermissions, groupPermissions, members);
+        reopened.shutdown();
+        assertTrue("Database errors: " + errors, errors.isEmpty());
+    }
+
+    @Test
+    public void loadsDontMissRacingWrites() throws Exception {
+        String file = folder.newFile("permissify.db").getAbsolutePath();
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 40; i++) players.add(UUID.randomUUID());
+        Map<UUID, Set<String>> expected = new ConcurrentHashMap<>();
+        players.forEach(uuid -> expected.put(uuid, ConcurrentHashMap.newKeySet()));
+
+        DatabaseHandler handler = open(file);
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS / 2; thread++) {
+            int owner = thread;
+            writers.add(threads.submit(() -> {
+                start.await();
+                for (int round = 0; round < ROUNDS / 3; round++) {
+                    for (int i = owner; i < players.size(); i += THREADS / 2) {
+                        UUID uuid = players.get(i);
+                        String node = "p" + round;
+                        handler.addPermission(uuid, node);
+                        expected.get(uuid).add(node);
+                    }
+                    // Drop everyone from the cache now and then, so they have to be loaded again.
+                    if (owner == 0 && round % 10 == 0) handler.reload(Collections.emptyList());
+                }
+                return null;
+            }));
+        }
+        List<Future<?>> loaders = new ArrayList<>();
+        CountDownLatch writing = new CountDownLatch(writers.size());
+        for (int thread = 0; thread < THREADS / 2; thread++) {
+            int owner = thread;
+            loaders.add(threads.submit(() -> {
+                start.await();
+                Random random = new Random(owner);
+                while (writing.getCount() > 0) {
+                    UUID uuid = players.get(random.nextInt(players.size()));
+                    if (random.nextBoolean()) handler.loadPlayerAsync(uuid).get(1, TimeUnit.MINUTES);
+                    else handler.getEffectivePermissions(uuid);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(2, TimeUnit.MINUTES);
+            writing.countDown();
+        }
+        for (Future<?> loader : loaders) loader.get(2, TimeUnit.MINUTES);
+        threads.shutdown();
+
+        Map<UUID, String> wrong = new HashMap<>();
+        players.forEach(uuid -> {
+            Set<String> actual = nodes(handler.getPermissions(uuid));
+            if (!actual.equals(expected.get(uuid))) wrong.put(uuid, "missing " + expected.get(uuid).stream().filter(node -> !actual.contains(node)).collect(Collectors.toList()));
+        });
+        handler.shutdown();
+        assertEquals(Collections.emptyMap(), wrong);
+        assertTrue("Database errors: " + errors, errors.isEmpty());
+    }
+
+    private void assertState(DatabaseHandler handler, UUID player, Set<String> playerPermissions, Set<String> groupPermissions, Set<UUID> members) {
+        assertEquals(playerPermissions, nodes(handler.getPermissions(player)));
+        PermissionGroup staff = handler.getGroup("staff").get();
+        assertEquals(groupPermissions, nodes(staff.getPermissions()));
+        assertEquals(members, staff.getPlayers().keySet());
+    }
+
+    private static Set<String> nodes(Iterable<Permission> permissions) {
+        Set<String> nodes = new HashSet<>();
+        permissions.forEach(permission -> nodes.add(permission.getPermission()));
+        return nodes;
+    }
+
+    private DatabaseHandler open(String file) throws Exception {
+        Map<String, Object> sqlite = new HashMap<>();
+        sqlite.put("file", file);
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("sqlite", sqlite);
+
+        Logger logger = Logger.getLogger("Permissify");
+        logger.setLevel(Level.WARNING);
+        PermissifyAPI api = new PermissifyAPI();
+        api.initialize(HandlerType.SQLITE, Optional.of(new ConnectionInformation("", "", 0, "", "", meta)),
+                (error, exception) -> errors.add(error + exception.map(e -> ": " + e.getMessage()).orElse("")), logger,
+                folder.newFolder().getAbsolutePath(), null);
+        return api.getDatabaseHandler().get();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.queue;
+
+import me.innectic.permissify.api.database.pool.ConnectionPool;
+import me.innectic.permissify.api.database.pool.PoolSettings;
+import me.innectic.permissify.api.database.schema.SQLDialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Hammers the queue from many threads at once, while others flush it by hand, and checks that the database ends up
+ * with the last write made to every row. Also checks that writes made while the database is down aren't lost.
+ */
+public class WriteBehindQueueTest {
+
+    private static final int THREADS = 8;
+    private static final int KEYS_PER_THREAD = 50;
+    private static final int SHARED_KEYS = 20;
+    private static final int ROUNDS = 200;
+
+    private static final String UPSERT = SQLDialect.SQLITE.upsert("counters", new String[]{"name", "value"}, new String[]{"name"}, "value");
+    private static final String DELETE = "DELETE FROM counters WHERE name=?";
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private String url;
+    private ConnectionPool pool;
+    private WriteBehindQueue queue;
+    // While set, every statement fails, like the database went away.
+    private volatile boolean down = false;
+
+    @Before
+    public void setUp() throws Exception {
+        url = "jdbc:sqlite:" + folder.newFile("queue.db").getAbsolutePath();
+        pool = new ConnectionPool(() -> outageAware(DriverManager.getConnection(url)), PoolSettings.fromMeta(new HashMap<>()));
+        try (Connection connection = pool.borrow();
+             PreparedStatement statement = connection.prepareStatement("CREATE TABLE counters (name VARCHAR(100) NOT NULL PRIMARY KEY, value INTEGER NOT NULL)")) {
+            statement.execute();
+        }
+        // A short delay and small batches, so merging, batching and flushing all get mixed together.
+        queue = new WriteBehindQueue(pool, 2, 64);
+    }
+
+    @After
+    public void tearDown() {
+        queue.shutdown();
+        pool.shutdown();
+    }
+
+    @Test
+    public void concurrentWritesAreNotLost() throws Exception {
+        // What each row should end up as, null if it should be gone.
+        Map<String, Integer> expected = new ConcurrentHashMap<>();
+        // Writes to shared rows are made under this, so there's one order to expect them in.
+        Object sharedOrder = new Object();
+
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int owner = thread;
+            writers.add(threads.submit(() -> {
+                Random random = new Random(owner);
+                start.await();
+                for (int round = 0; round < ROUNDS; round++) {
+                    for (int key = 0; key < KEYS_PER_THREAD; key++) {
+                        write("t" + owner + ".k" + key, random.nextInt(4) == 0 ? null : round, expected);
+                    }
+                    String shared = "shared.k" + random.nextInt(SHARED_KEYS);
+                    synchronized (sharedOrder) {
+                        write(shared, random.nextInt(4) == 0 ? null : owner * ROUNDS + round, expected);
+                    }
+                }
+                return null;
+            }));
+        }
+        // Manual flushes race with the writer thread, like a load flushing before it reads.
+        List<Future<?>> flushers = new ArrayList<>();
+        for (int flusher = 0; flusher < 2; flusher++) {
+            flushers.add(threads.submit(() -> {
+                start.await();
+                while (writing.get()) queue.flush();
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> writer : writers) writer.get(2, TimeUnit.MINUTES);
+        writing.set(false);
+        for (Future<?> flusher : flushers) flusher.get(2, TimeUnit.MINUTES);
+        threads.shutdown();
+        queue.flush();
+
+        // Only report the rows that are wrong, rather than every row.
+        Map<String, Integer> rows = readRows();
+        Map<String, String> wrong = new TreeMap<>();
+        expected.forEach((name, value) -> {
+            Integer actual = rows.get(name);
+            if (value < 0 ? actual != null : !value.equals(actual)) wrong.put(name, "expected " + (value < 0 ? "no row" : value) + ", was " + actual);
+        });
+        rows.keySet().stream().filter(name -> !expected.containsKey(name)).forEach(name -> wrong.put(name, "never written"));
+        assertEquals(Collections.emptyMap(), wrong);
+    }
+
+    @Test
+    public void failedWritesAreRetried() throws Exception {
+        Map<String, Integer> expected = new HashMap<>();
+        down = true;
+        write("a", 1, expected);
+        write("b", 1, expected);
+        write("c", 1, expected);
+        assertFalse(queue.flush());
+        // Writes made during the outage are merged with the ones that failed.
+        write("a", 2, expected);
+        write("b", null, expected);
+        write("d", 1, expected);
+        assertFalse(queue.flush());
+        assertEquals(Collections.emptyMap(), readRows());
+
+        down = false;
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (queue.getQueueDepth() > 0 && System.currentTimeMillis() < deadline) Thread.sleep(50);
+        // Wait for the writer thread to finish whatever it took.
+        queue.flush();
+
+        Map<String, Integer> rows = new HashMap<>();
+        expected.forEach((name, value) -> {
+            if (value >= 0) rows.put(name, value);
+        });
+        assertEquals(rows, readRows());
+    }
+
+    private Connection outageAware(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            if (down && method.getName().equals("prepareStatement")) throw new SQLException("The database is down");
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private void write(String name, Integer value, Map<String, Integer> expected) {
+        if (value == null) {
+            queue.submit(PendingWrite.remove(name, DELETE, name));
+            expected.put(name, -1);
+        } else {
+            queue.submit(PendingWrite.add(name, UPSERT, name, value));
+            expected.put(name, value);
+        }
+    }
+
+    private Map<String, Integer> readRows() throws Exception {
+        Map<String, Integer> rows = new HashMap<>();
+        try (Connection connection = DriverManager.getConnection(url);
+             PreparedStatement statement = connection.prepareStatement("SELECT name,value FROM counters");
+             ResultSet results = statement.executeQuery()) {
+            while (results.next()) rows.put(results.getString("name"), results.getInt("value"));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import me.innectic.permissify.api.util.Tristate;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Checks that nodes resolve the same ignoring case, whether a player is checked against their compiled permissions
+ * directly, or through the nodes handed to their attachment, which Bukkit looks up lower cased.
+ */
+public class EffectivePermissionsTest {
+
+    private static final String[] CHECKED = {
+            "worldedit.wand", "WorldEdit.Wand", "WORLDEDIT.WAND",
+            "essentials.fly", "Essentials.Fly",
+            "kits.vip", "Kits.VIP",
+            "kits.member", "KITS.MEMBER",
+            "chat.color", "Chat.Color"
+    };
+
+    @Test
+    public void mixedCaseGrantsResolveOnBothPaths() {
+        PermissionSet personal = PermissionSet.of(Arrays.asList(
+                new Permission("WorldEdit.*", true),
+                new Permission("Essentials.Fly", true),
+                new Permission("KITS.member", false)));
+        PermissionSet staff = PermissionSet.of(Arrays.asList(
+                new Permission("Kits.VIP", true),
+                new Permission("kits.member", true),
+                new Permission("chat.color", true)));
+        PermissionSet muted = PermissionSet.of(Collections.singletonList(new Permission("Chat.Color", false)));
+        EffectivePermissions compiled = EffectivePermissions.compile(personal, Arrays.asList(staff, muted));
+
+        // Wildcards and exact nodes, in any case.
+        assertEquals(Tristate.TRUE, compiled.check("worldedit.wand"));
+        assertEquals(Tristate.TRUE, compiled.check("WORLDEDIT.WAND"));
+        assertEquals(Tristate.TRUE, compiled.check("essentials.fly"));
+        assertEquals(Tristate.TRUE, compiled.check("kits.vip"));
+        // The player's own denial wins over a group's grant of the same node in another case.
+        assertEquals(Tristate.FALSE, compiled.check("kits.member"));
+        // Between groups, a denial wins even when the cases differ.
+        assertEquals(Tristate.FALSE, compiled.check("CHAT.COLOR"));
+
+        Map<String, Boolean> attached = compiled.nodes();
+        for (String node : CHECKED) {
+            Boolean granted = attached.get(node.toLowerCase(Locale.ROOT));
+            if (granted == null) continue;
+            assertEquals(node, granted ? Tristate.TRUE : Tristate.FALSE, compiled.check(node));
+        }
+    }
+
+    @Test
+    public void laterNodesWinOnBothPaths() {
+        PermissionSet personal = PermissionSet.of(Arrays.asList(new Permission("Fly.Use", true), new Permission("fly.use", false)));
+        EffectivePermissions compiled = EffectivePermissions.compile(personal, Collections.emptyList());
+
+        assertEquals(Tristate.FALSE, compiled.check("Fly.Use"));
+        assertEquals(Boolean.FALSE, compiled.nodes().get("fly.use"));
+        assertEquals(1, compiled.nodes().size());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Checks that groups in a cycle, made by the same groups being on two ladders in opposite orders, still get
+ * everything they inherit, no matter which of them is resolved first.
+ */
+public class GroupHierarchyTest {
+
+    private final Map<String, PermissionGroup> groups = new HashMap<>();
+    private List<Ladder> ladders;
+
+    @Before
+    public void setUp() {
+        group("default", "chat.use");
+        group("member", "home.set");
+        group("mod", "kick.use");
+        ladders = Arrays.asList(
+                new Ladder("staff").with("default", 0).with("member", 1).with("mod", 2),
+                new Ladder("trial").with("mod", 1).with("member", 2));
+    }
+
+    private void group(String name, String permission) {
+        PermissionGroup group = new PermissionGroup(name, name, "", "", "");
+        group.addPermission(permission);
+        groups.put(name, group);
+    }
+
+    private Optional<PermissionGroup> lookup(String name) {
+        return Optional.ofNullable(groups.get(name));
+    }
+
+    @Test
+    public void cyclesInheritEverythingInThem() {
+        Set<String> expected = new HashSet<>(Arrays.asList("chat.use", "home.set", "kick.use"));
+        for (String first : Arrays.asList("member", "mod")) {
+            GroupHierarchy hierarchy = GroupHierarchy.of(ladders);
+            String second = first.equals("member") ? "mod" : "member";
+            assertEquals(first, expected, nodes(hierarchy.getClosure(groups.get(first), this::lookup)));
+            assertEquals(second, expected, nodes(hierarchy.getClosure(groups.get(second), this::lookup)));
+        }
+    }
+
+    @Test
+    public void groupsInACycleAreNotDropped() {
+        GroupHierarchy hierarchy = GroupHierarchy.of(ladders);
+        List<PermissionSet> closures = hierarchy.getClosures(Arrays.asList(groups.get("member"), groups.get("mod")), this::lookup);
+
+        assertEquals(2, closures.size());
+        closures.forEach(closure -> assertTrue(closure.isGranted("kick.use") && closure.isGranted("home.set")));
+    }
+
+    @Test
+    public void inheritedGroupsAreDropped() {
+        GroupHierarchy hierarchy = GroupHierarchy.of(ladders);
+        List<PermissionSet> closures = hierarchy.getClosures(Arrays.asList(groups.get("default"), groups.get("member")), this::lookup);
+
+        assertEquals(1, closures.size());
+        assertTrue(closures.get(0).isGranted("chat.use"));
+    }
+
+    private static Set<String> nodes(PermissionSet permissions) {
+        Set<String> nodes = new HashSet<>();
+        permissions.forEach(permission -> nodes.add(permission.getPermission()));
+        return nodes;
+    }
+}
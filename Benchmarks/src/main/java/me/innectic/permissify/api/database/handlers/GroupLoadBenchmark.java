@@ -0,0 +1,279 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.database.handlers;
+
+import me.innectic.permissify.api.PermissifyAPI;
+import me.innectic.permissify.api.database.ConnectionInformation;
+import me.innectic.permissify.api.permission.PermissionGroup;
+import me.innectic.permissify.api.util.UUIDUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * How long loading the groups takes as the number of groups grows, with the loader {@link SQLHandler#loadGroups()}
+ * replaced, which ran two queries per group, and with the current one, which runs one query per table.
+ *
+ * SQLite is in-process, so every round trip is nearly free, unlike MySQL across a network. Every statement both
+ * loaders run goes through {@link LatencyDriver}, which waits the given latency before each round trip, so the
+ * difference the number of queries makes shows up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupLoadBenchmark {
+
+    private static final int PERMISSIONS_PER_GROUP = 25;
+    private static final int MEMBERS_PER_GROUP = 10;
+
+    @Param({"10", "100", "400", "1000"})
+    public int groups;
+
+    // Microseconds waited before every round trip. 0 is SQLite as is, 250 a database on the same host, 1000 one
+    // across a local network.
+    @Param({"0", "250", "1000"})
+    public int latency;
+
+    private Path folder;
+    private SQLHandler handler;
+    private Connection connection;
+    private LatencyDriver driver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        driver = LatencyDriver.install();
+        folder = Files.createTempDirectory("permissify-benchmark");
+        String file = folder.resolve("permissify.db").toString();
+        Map<String, Object> sqlite = new HashMap<>();
+        sqlite.put("file", file);
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("sqlite", sqlite);
+
+        Logger logger = Logger.getLogger("Permissify");
+        logger.setLevel(java.util.logging.Level.WARNING);
+        PermissifyAPI api = new PermissifyAPI();
+        api.initialize(HandlerType.SQLITE, Optional.of(new ConnectionInformation("", "", 0, "", "", meta)),
+                (error, exception) -> logger.warning(error.name()), logger, folder.resolve("modules").toString(), null);
+        handler = (SQLHandler) api.getDatabaseHandler().get();
+
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+        fill();
+        // Only now, so setting up isn't slowed down too.
+        driver.latency = TimeUnit.MICROSECONDS.toNanos(latency);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+        handler.shutdown();
+        driver.uninstall();
+        Files.walk(folder).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+
+    /**
+     * The loader that was replaced, as it was. Only how member uuids are read changed, since they're stored as
+     * bytes now, and groups go into a map here instead of the handler's cache.
+     */
+    @Benchmark
+    public Map<String, PermissionGroup> perGroupQueries() {
+        Map<String, PermissionGroup> cachedGroups = new HashMap<>();
+        try (PreparedStatement groupStatement = connection.prepareStatement("SELECT * from groups");
+             ResultSet groupResults = groupStatement.executeQuery()) {
+            while (groupResults.next()) {
+                String groupName = groupResults.getString("name");
+                String displayName = groupResults.getString("displayName");
+                PermissionGroup group = new PermissionGroup(groupName,
+                        displayName,
+                        groupResults.getString("chatcolor"),
+                        groupResults.getString("prefix"),
+                        groupResults.getString("suffix"));
+
+                try (PreparedStatement groupPermissionsStatement = connection.prepareStatement("SELECT * FROM groupPermissions WHERE groupName=?")) {
+                    groupPermissionsStatement.setString(1, group.getName());
+                    try (ResultSet groupPermissionsResult = groupPermissionsStatement.executeQuery()) {
+                        while (groupPermissionsResult.next()) {
+                            group.addPermission(groupPermissionsResult.getString("permission"));
+                        }
+                    }
+                }
+
+                try (PreparedStatement groupMembersStatement = connection.prepareStatement("SELECT uuid,`primary` FROM groupMembers WHERE `group`=?")) {
+                    groupMembersStatement.setString(1, group.getName());
+                    try (ResultSet groupMembersResults = groupMembersStatement.executeQuery()) {
+                        while (groupMembersResults.next()) {
+                            group.addPlayer(UUIDUtil.fromBytes(groupMembersResults.getBytes("uuid")), groupMembersResults.getBoolean("primary"));
+                        }
+                    }
+                }
+                cachedGroups.put(groupName, group);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return cachedGroups;
+    }
+
+    @Benchmark
+    public Optional<PermissionGroup> bulkQueries() {
+        handler.loadGroups();
+        return handler.getGroup("group0");
+    }
+
+    /**
+     * Hands out SQLite connections that wait before every round trip to the database: running a statement, and
+     * committing. Installed in place of the SQLite driver, so the handler's own connections go through it too.
+     */
+    private static class LatencyDriver implements Driver {
+        private final Driver sqlite;
+        private volatile long latency = 0;
+
+        private LatencyDriver(Driver sqlite) {
+            this.sqlite = sqlite;
+        }
+
+        private static LatencyDriver install() throws SQLException {
+            LatencyDriver driver = new LatencyDriver(new org.sqlite.JDBC());
+            for (Driver registered : Collections.list(DriverManager.getDrivers())) {
+                if (registered instanceof org.sqlite.JDBC) DriverManager.deregisterDriver(registered);
+            }
+            DriverManager.registerDriver(driver);
+            return driver;
+        }
+
+        private void uninstall() throws SQLException {
+            DriverManager.deregisterDriver(this);
+            DriverManager.registerDriver(sqlite);
+        }
+
+        private void roundTrip() {
+            if (latency > 0) LockSupport.parkNanos(latency);
+        }
+
+        private <T> T delayed(Class<T> type, T target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute") || method.getName().equals("commit")) roundTrip();
+                Object result = invoke(method, target, args);
+                if (result instanceof PreparedStatement) return delayed(PreparedStatement.class, (PreparedStatement) result);
+                if (result instanceof Statement) return delayed(Statement.class, (Statement) result);
+                return result;
+            }));
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            Connection connection = sqlite.connect(url, info);
+            return connection == null ? null : delayed(Connection.class, connection);
+        }
+
+        @Override
+        public boolean acceptsURL(String url) throws SQLException {
+            return sqlite.acceptsURL(url);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException {
+            return sqlite.getPropertyInfo(url, info);
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return sqlite.getMajorVersion();
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return sqlite.getMinorVersion();
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return sqlite.jdbcCompliant();
+        }
+
+        @Override
+        public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            return sqlite.getParentLogger();
+        }
+    }
+
+    private void fill() throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement group = connection.prepareStatement("INSERT INTO groups (name,displayName,prefix,suffix,chatcolor,defaultGroup) VALUES (?,?,?,?,?,?)");
+             PreparedStatement permission = connection.prepareStatement("INSERT INTO groupPermissions (groupName,permission) VALUES (?,?)");
+             PreparedStatement member = connection.prepareStatement("INSERT INTO groupMembers (uuid,`group`,`primary`,ladderPosition) VALUES (?,?,?,?)")) {
+            for (int i = 0; i < groups; i++) {
+                String name = "group" + i;
+                group.setString(1, name);
+                group.setString(2, "Group " + i);
+                group.setString(3, "&7[" + i + "]");
+                group.setString(4, "");
+                group.setString(5, "&7");
+                group.setBoolean(6, i == 0);
+                group.addBatch();
+                for (int node = 0; node < PERMISSIONS_PER_GROUP; node++) {
+                    permission.setString(1, name);
+                    permission.setString(2, "permissify.benchmark." + i + "." + node);
+                    permission.addBatch();
+                }
+                for (int player = 0; player < MEMBERS_PER_GROUP; player++) {
+                    member.setBytes(1, UUIDUtil.toBytes(UUID.randomUUID()));
+                    member.setString(2, name);
+                    member.setBoolean(3, player == 0);
+                    member.setInt(4, 0);
+                    member.addBatch();
+                }
+            }
+            group.executeBatch();
+            permission.executeBatch();
+            member.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.format;
+
+import me.innectic.permissify.api.PermissifyConstants;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Building command responses with chained replaces and a color translation pass, like commands used to, and with
+ * the precompiled {@link MessageTemplates} they use now.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+
+    private static final String COLOR_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRr";
+
+    private MessageTemplates templates;
+    private String player = "Innectic";
+    private String permission = "permissify.admin";
+    private String seconds = "3600";
+
+    @Setup
+    public void setUp() {
+        templates = new MessageTemplates(PermissifyConstants.class, MessageTemplateBenchmark::translate);
+    }
+
+    @Benchmark
+    public String replaceChain() {
+        return translate(PermissifyConstants.PERMISSION_ADDED_PLAYER_TIMED.replace("<PERMISSION>", permission)
+                .replace("<PLAYER>", player).replace("<SECONDS>", seconds));
+    }
+
+    @Benchmark
+    public String template() {
+        return templates.render(PermissifyConstants.PERMISSION_ADDED_PLAYER_TIMED, "PERMISSION", permission, "PLAYER", player, "SECONDS", seconds);
+    }
+
+    @Benchmark
+    public String translateConstant() {
+        return translate(PermissifyConstants.INSUFFICIENT_PERMISSIONS);
+    }
+
+    @Benchmark
+    public String readableConstant() {
+        return templates.readable(PermissifyConstants.INSUFFICIENT_PERMISSIONS);
+    }
+
+    /**
+     * The same translation Bukkit's ChatColor.translateAlternateColorCodes does, so the API doesn't need Bukkit.
+     */
+    private static String translate(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length - 1; i++) {
+            if (chars[i] != '&' || COLOR_CODES.indexOf(chars[i + 1]) == -1) continue;
+            chars[i] = '§';
+            chars[i + 1] = Character.toLowerCase(chars[i + 1]);
+        }
+        return new String(chars);
+    }
+}
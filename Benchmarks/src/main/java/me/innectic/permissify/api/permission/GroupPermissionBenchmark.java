@@ -0,0 +1,132 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.api.permission;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Group permission lookups and updates, against a list that's scanned every time like groups used to keep, and
+ * against the node-indexed {@link PermissionSet} they keep now.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupPermissionBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int nodes;
+
+    private ListGroup list;
+    private PermissionGroup indexed;
+    private String present;
+    private String missing;
+
+    @Setup
+    public void setUp() {
+        list = new ListGroup();
+        indexed = new PermissionGroup("staff", "Staff", "&7", "", "");
+        List<Permission> permissions = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) permissions.add(new Permission("permissify.node." + i, true));
+        list.permissions = Collections.unmodifiableList(permissions);
+        indexed.addPermissions(permissions);
+        present = "permissify.node." + (nodes / 2);
+        missing = "permissify.missing";
+    }
+
+    @Benchmark
+    public boolean listHasPresent() {
+        return list.hasPermission(present);
+    }
+
+    @Benchmark
+    public boolean indexedHasPresent() {
+        return indexed.hasPermission(present);
+    }
+
+    @Benchmark
+    public boolean listHasMissing() {
+        return list.hasPermission(missing);
+    }
+
+    @Benchmark
+    public boolean indexedHasMissing() {
+        return indexed.hasPermission(missing);
+    }
+
+    @Benchmark
+    public boolean listAddRemove() {
+        list.addPermission(missing);
+        list.removePermission(missing);
+        return list.hasPermission(missing);
+    }
+
+    @Benchmark
+    public boolean indexedAddRemove() {
+        indexed.addPermission(missing);
+        indexed.removePermission(missing);
+        return indexed.hasPermission(missing);
+    }
+
+    /**
+     * How groups kept their permissions before they were indexed.
+     */
+    private static class ListGroup {
+        private volatile List<Permission> permissions = Collections.emptyList();
+
+        private synchronized void removePermission(String permission) {
+            if (!hasPermission(permission)) return;
+            List<Permission> updated = new ArrayList<>(permissions);
+            updated.removeIf(p -> p.getPermission().equals(permission));
+            permissions = Collections.unmodifiableList(updated);
+        }
+
+        private synchronized void addPermission(String permission) {
+            List<Permission> updated = new ArrayList<>(permissions);
+            boolean replaced = false;
+            for (int i = 0; i < updated.size(); i++) {
+                if (!updated.get(i).getPermission().equals(permission)) continue;
+                updated.set(i, new Permission(permission, true));
+                replaced = true;
+            }
+            if (!replaced) updated.add(new Permission(permission, true));
+            permissions = Collections.unmodifiableList(updated);
+        }
+
+        private boolean hasPermission(String permission) {
+            return permissions.stream().anyMatch(perm -> perm.getPermission().equals(permission));
+        }
+    }
+}
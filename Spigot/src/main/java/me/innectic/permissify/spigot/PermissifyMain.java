@@ -26,17 +26,26 @@ package me.innectic.permissify.spigot;
 
 import lombok.Getter;
 import lombok.Setter;
+import me.innectic.permissify.spigot.chat.ChatFormatter;
 import me.innectic.permissify.spigot.commands.PermissifyCommand;
 import me.innectic.permissify.spigot.commands.subcommand.*;
 import me.innectic.permissify.spigot.events.PlayerJoin;
 import me.innectic.permissify.api.PermissifyAPI;
+import me.innectic.permissify.api.database.DatabaseHandler;
+import me.innectic.permissify.api.database.async.IOExecutor;
 import me.innectic.permissify.api.database.handlers.FullHandler;
+import me.innectic.permissify.spigot.events.PlayerChat;
 import me.innectic.permissify.spigot.events.PlayerLeave;
+import me.innectic.permissify.spigot.events.PlayerPreLogin;
+import me.innectic.permissify.spigot.events.PlayerWhisper;
+import me.innectic.permissify.spigot.permissible.PermissibleInjector;
 import me.innectic.permissify.spigot.utils.AttachmentManager;
 import me.innectic.permissify.spigot.utils.ConfigVerifier;
 import me.innectic.permissify.spigot.utils.DisplayUtil;
+import me.innectic.permissify.spigot.utils.PermissionUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -57,10 +66,18 @@ public class PermissifyMain extends JavaPlugin {
     @Getter private PlayerCommand playerCommand;
     @Getter private CacheCommand cacheCommand;
     @Getter private ProfileCommand profileCommand;
+    @Getter private LadderCommand ladderCommand;
 
     @Getter private AttachmentManager attachmentManager;
+    @Getter private Optional<PermissibleInjector> permissibleInjector = Optional.empty();
 
+    @Getter private Optional<ChatFormatter> chatFormatter = Optional.empty();
     @Getter @Setter private boolean handleChat = false;
+    @Getter private boolean handleWhispers = false;
+    @Getter private long preloadTimeout = 3000;
+    @Getter private boolean denyOnPreloadTimeout = false;
+    // Commands get their own pool, separate from the database's and the scheduler's.
+    private IOExecutor commandExecutor;
 
     @Override
     public void onEnable() {
@@ -80,6 +97,9 @@ public class PermissifyMain extends JavaPlugin {
             return;
         }
         handleChat = getConfig().getBoolean("handleChat");
+        handleWhispers = getConfig().getBoolean("handleWhispers", false);
+        preloadTimeout = getConfig().getLong("preload.timeout", 3000);
+        denyOnPreloadTimeout = getConfig().getString("preload.on-timeout", "degrade").equalsIgnoreCase("deny");
         try {
             permissifyAPI.initialize(handler.get().getHandlerType().get(), handler.get().getConnectionInformation(), new DisplayUtil(), getLogger(), getDataFolder().getAbsolutePath() + "/modules", this);
         } catch (Exception e) {
@@ -87,6 +107,21 @@ public class PermissifyMain extends JavaPlugin {
         }
         // Create the attachment manager
         attachmentManager = new AttachmentManager();
+        // Answer checks straight from Permissify instead of attachments, if enabled
+        if (getConfig().getBoolean("inject-permissible", false))
+            permissibleInjector = permissifyAPI.getDatabaseHandler().map(PermissibleInjector::new);
+        // Format chat from the database's formats
+        chatFormatter = permissifyAPI.getDatabaseHandler().map(ChatFormatter::new);
+        // Apply group changes to online players as they happen
+        permissifyAPI.getDatabaseHandler().ifPresent(databaseHandler -> databaseHandler.addGroupChangeListener((group, delta) ->
+                Bukkit.getScheduler().runTaskAsynchronously(this, () -> PermissionUtil.applyGroupDelta(group, delta))));
+        // Take expired permissions and memberships away from online players. Expiries fire on the timing wheel's
+        // thread, so the player is only looked up once we're back on the main thread.
+        permissifyAPI.getDatabaseHandler().ifPresent(databaseHandler -> databaseHandler.addExpiryListener(uuid ->
+                Bukkit.getScheduler().runTask(this, () -> {
+                    Player player = Bukkit.getPlayer(uuid);
+                    if (player != null) Bukkit.getScheduler().runTaskAsynchronously(this, () -> PermissionUtil.applyPermissions(player));
+                })));
         // Register commands
         registerCommands();
         // Register listeners
@@ -98,7 +133,10 @@ public class PermissifyMain extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        permissibleInjector.ifPresent(injector -> Bukkit.getOnlinePlayers().forEach(injector::uninject));
+        if (commandExecutor != null) commandExecutor.shutdown();
         permissifyAPI.getModuleProvider().end(this);
+        permissifyAPI.getDatabaseHandler().ifPresent(DatabaseHandler::shutdown);
 
         configVerifier = null;
         permissifyAPI = null;
@@ -131,14 +169,19 @@ public class PermissifyMain extends JavaPlugin {
         playerCommand = new PlayerCommand();
         cacheCommand = new CacheCommand();
         profileCommand = new ProfileCommand();
+        ladderCommand = new LadderCommand();
 
-        getCommand("permissify").setExecutor(new PermissifyCommand());
+        commandExecutor = new IOExecutor("Permissify Commands", getConfig().getInt("commands.threads", 2), getConfig().getInt("commands.queue-size", 50));
+        getCommand("permissify").setExecutor(new PermissifyCommand(commandExecutor, getConfig().getInt("commands.per-sender", 3)));
     }
 
     private void registerListeners() {
         PluginManager pluginManager = Bukkit.getPluginManager();
 
+        pluginManager.registerEvents(new PlayerPreLogin(), this);
         pluginManager.registerEvents(new PlayerJoin(), this);
         pluginManager.registerEvents(new PlayerLeave(), this);
+        pluginManager.registerEvents(new PlayerChat(), this);
+        pluginManager.registerEvents(new PlayerWhisper(), this);
     }
 }
@@ -0,0 +1,234 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.spigot.chat;
+
+import me.innectic.permissify.api.database.DatabaseHandler;
+import me.innectic.permissify.api.format.Template;
+import me.innectic.permissify.api.permission.PermissionGroup;
+import me.innectic.permissify.api.permission.PlayerGroups;
+import me.innectic.permissify.spigot.utils.ColorUtil;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Formats chat and whispers from the formats in the database. Formats are parsed once, and what each player shows
+ * in chat is worked out once and kept until their groups change, so formatting never touches the database.
+ *
+ * Formats can use {group} (the primary group's prefix), {groupname}, {prefix}, {suffix}, {chatcolor},
+ * {username}, and {message}. Whispers can also use {to}, {senderGroup}, and {receiverGroup}. Messages are shown in
+ * the chat color of the sender's primary group.
+ */
+public class ChatFormatter {
+
+    private static final String DEFAULT_CHAT_FORMAT = "{group} {username}: {message}";
+    private static final String DEFAULT_WHISPER_FORMAT = "{senderGroup} {username} > {receiverGroup} {to}: {message}";
+
+    private final DatabaseHandler handler;
+    private volatile Formats formats;
+    private final Map<UUID, PlayerDisplay> displays = new ConcurrentHashMap<>();
+
+    public ChatFormatter(DatabaseHandler handler) {
+        this.handler = handler;
+        this.formats = new Formats(handler.getFormats());
+    }
+
+    /**
+     * Get the format to give {@link org.bukkit.event.player.AsyncPlayerChatEvent#setFormat(String)} for a player.
+     * Safe to call from any thread.
+     *
+     * @param player the player chatting
+     * @return the format, with the name as %1$s and the message as %2$s
+     */
+    public String getChatFormat(Player player) {
+        return getDisplay(player.getUniqueId()).chatFormat;
+    }
+
+    /**
+     * Format a whisper from one player to another.
+     *
+     * @param sender   who sent the whisper
+     * @param receiver who it's being sent to
+     * @param message  what they said
+     * @return the formatted whisper
+     */
+    public String formatWhisper(Player sender, Player receiver, String message) {
+        Formats current = getFormats();
+        PlayerDisplay from = getDisplay(sender.getUniqueId());
+        PlayerDisplay to = getDisplay(receiver.getUniqueId());
+
+        String[] values = new String[current.whisperVariables.length];
+        for (int i = 0; i < values.length; i++) {
+            Variable variable = current.whisperVariables[i];
+            if (variable == null) continue;
+            switch (variable) {
+                case USERNAME:
+                    values[i] = sender.getDisplayName();
+                    break;
+                case TO:
+                    values[i] = receiver.getDisplayName();
+                    break;
+                case MESSAGE:
+                    values[i] = from.chatColor + message;
+                    break;
+                case RECEIVER_GROUP:
+                    values[i] = to.prefix;
+                    break;
+                default:
+                    values[i] = from.get(variable);
+            }
+        }
+        return current.whisper.render(values);
+    }
+
+    /**
+     * Forget what a player shows in chat, for when they leave.
+     *
+     * @param uuid the uuid of the player
+     */
+    public void forget(UUID uuid) {
+        displays.remove(uuid);
+    }
+
+    private Formats getFormats() {
+        Formats current = formats;
+        // Reloading replaces the formats whole, so they only need parsing again when that happens.
+        if (current.source != handler.getFormats()) {
+            current = new Formats(handler.getFormats());
+            formats = current;
+        }
+        return current;
+    }
+
+    private PlayerDisplay getDisplay(UUID uuid) {
+        Formats current = getFormats();
+        // Memberships are immutable snapshots, replaced whenever the player's groups change, and groups are replaced
+        // whenever they're recreated or reloaded, so comparing references is enough to know if anything changed.
+        PlayerGroups groups = handler.getMemberships().getOrDefault(uuid, PlayerGroups.EMPTY);
+        PermissionGroup primary = groups.getPrimary().orElse(handler.getDefaultGroup().orElse(null));
+
+        PlayerDisplay display = displays.get(uuid);
+        if (display != null && display.groups == groups && display.primary == primary && display.formats == current) return display;
+        display = new PlayerDisplay(current, groups, primary);
+        displays.put(uuid, display);
+        return display;
+    }
+
+    private enum Variable {
+        GROUP("group"), GROUP_NAME("groupname"), PREFIX("prefix"), SUFFIX("suffix"), CHAT_COLOR("chatcolor"),
+        USERNAME("username"), MESSAGE("message"), TO("to"), SENDER_GROUP("senderGroup"), RECEIVER_GROUP("receiverGroup");
+
+        private final String placeholder;
+
+        Variable(String placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        private static Variable of(String placeholder) {
+            for (Variable variable : values()) if (variable.placeholder.equalsIgnoreCase(placeholder)) return variable;
+            return null;
+        }
+    }
+
+    private static class Formats {
+        private final Map<String, String> source;
+        private final Template chat;
+        private final Template whisper;
+        // What each of the whisper's placeholders is, so they aren't looked up by name for every whisper.
+        private final Variable[] whisperVariables;
+
+        private Formats(Map<String, String> source) {
+            this.source = source;
+            // The chat format ends up going through String.format, so any % in it has to be escaped.
+            this.chat = Template.compile(source.getOrDefault("chat", DEFAULT_CHAT_FORMAT), "{", "}",
+                    literal -> escape(ColorUtil.makeReadable(literal)));
+            this.whisper = Template.compile(source.getOrDefault("whisper", DEFAULT_WHISPER_FORMAT), "{", "}", ColorUtil::makeReadable);
+            this.whisperVariables = whisper.getPlaceholders().stream().map(Variable::of).toArray(Variable[]::new);
+        }
+    }
+
+    private static class PlayerDisplay {
+        private final Formats formats;
+        private final PlayerGroups groups;
+        private final PermissionGroup primary;
+
+        private final String groupName;
+        private final String prefix;
+        private final String suffix;
+        private final String chatColor;
+        private final String chatFormat;
+
+        private PlayerDisplay(Formats formats, PlayerGroups groups, PermissionGroup primary) {
+            this.formats = formats;
+            this.groups = groups;
+            this.primary = primary;
+            this.prefix = primary == null ? "" : ColorUtil.makeReadable(primary.getPrefix());
+            this.suffix = primary == null ? "" : ColorUtil.makeReadable(primary.getSuffix());
+            this.chatColor = primary == null ? "" : ColorUtil.makeReadable(primary.getChatColor());
+            this.groupName = primary == null ? "" : primary.getDisplayName();
+            this.chatFormat = formats.chat.render(placeholder -> {
+                Variable variable = Variable.of(placeholder);
+                if (variable == Variable.USERNAME) return "%1$s";
+                if (variable == Variable.MESSAGE) return escape(chatColor) + "%2$s";
+                String value = get(variable);
+                return value == null ? null : escape(value);
+            });
+        }
+
+        /**
+         * Get what a variable is for this player.
+         *
+         * @param variable the variable
+         * @return the value, or null if it isn't about this player alone
+         */
+        private String get(Variable variable) {
+            if (variable == null) return null;
+            switch (variable) {
+                case GROUP:
+                case SENDER_GROUP:
+                    return prefix;
+                case GROUP_NAME:
+                    return groupName;
+                case PREFIX:
+                    return prefix;
+                case SUFFIX:
+                    return suffix;
+                case CHAT_COLOR:
+                    return chatColor;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static String escape(String format) {
+        return format.replace("%", "%%");
+    }
+}
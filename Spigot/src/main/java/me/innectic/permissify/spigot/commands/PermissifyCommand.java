@@ -25,11 +25,14 @@
 package me.innectic.permissify.spigot.commands;
 
 import me.innectic.permissify.api.PermissifyConstants;
-import me.innectic.permissify.api.util.ArgumentUtil;
+import me.innectic.permissify.api.database.async.IOExecutor;
 import me.innectic.permissify.spigot.PermissifyMain;
-import me.innectic.permissify.spigot.utils.ColorUtil;
+import me.innectic.permissify.spigot.commands.subcommand.*;
+import me.innectic.permissify.spigot.commands.tree.ArgumentParser;
+import me.innectic.permissify.spigot.commands.tree.Arguments;
+import me.innectic.permissify.spigot.commands.tree.CommandNode;
+import me.innectic.permissify.spigot.utils.MessageUtil;
 import me.innectic.permissify.spigot.utils.PermissionUtil;
-import org.bukkit.Bukkit;
 import org.bukkit.block.CommandBlock;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -38,6 +41,14 @@ import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
 
 /**
  * @author Innectic
@@ -45,125 +56,162 @@ import java.util.List;
  */
 public class PermissifyCommand implements CommandExecutor {
 
+    private final CommandNode root = new CommandNode();
+    // Commands run on their own bounded pool, so spamming them can't take over the server's async threads.
+    private final IOExecutor executor;
+    private final int maximumPerSender;
+    // How many commands each sender has waiting or running.
+    private final Map<String, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    public PermissifyCommand(IOExecutor executor, int maximumPerSender) {
+        this.executor = executor;
+        this.maximumPerSender = Math.max(1, maximumPerSender);
+        registerCommands();
+    }
+
+    private void registerCommands() {
+        PermissifyMain plugin = PermissifyMain.getInstance();
+        root.executes((sender, args) -> sendHelp(sender));
+        root.literal("help").executes((sender, args) -> sendHelp(sender, args.get(0, ArgumentParser.INTEGER).orElse(1) - 1));
+
+        CommandNode superAdmin = root.literal("superadmin").executes(this::handleSuperAdmin);
+        superAdmin.literal("grant").executes((sender, args) -> handleSuperAdmin(sender, args, true));
+        superAdmin.literal("remove").executes((sender, args) -> handleSuperAdmin(sender, args, false));
+
+        CacheCommand cache = plugin.getCacheCommand();
+        CommandNode cacheNode = root.literal("cache").executes(respond(cache::handleCache));
+        cacheNode.literal("purge").executes(respond(cache::handleCachePurge));
+
+        ProfileCommand profile = plugin.getProfileCommand();
+        CommandNode profileNode = root.literal("profile").executes((sender, args) -> {
+            if (args.size() < 1) sendHelp(sender);
+            else sendResponse(profile.handleProfile(sender, args), sender);
+        });
+        profileNode.literal("save").executes(respond(profile::handleSaveProfile));
+        profileNode.literal("load").executes(respond(profile::handleLoadProfile));
+
+        GroupCommand group = plugin.getGroupCommand();
+        CommandNode groupNode = root.literal("group").executes((sender, args) -> sendHelp(sender));
+        groupNode.literal("create", "add").executes(respond(group::handleAddGroup));
+        groupNode.literal("remove", "delete").executes(respond(group::handleDeleteGroup));
+        groupNode.literal("addpermission").executes(respond(group::handlePermissionAdd));
+        groupNode.literal("removepermission").executes(respond(group::handlePermissionRemove));
+        groupNode.literal("list").executes(respond(group::handleListGroups));
+        groupNode.literal("listpermissions").executes(respond(group::handleListPermissions));
+        groupNode.literal("default").executes(respond(group::handleSetDefault));
+
+        PlayerCommand player = plugin.getPlayerCommand();
+        CommandNode playerNode = root.literal("player").executes((sender, args) -> {
+            if (args.size() == 1) sendResponse(PermissifyConstants.NOT_ENOUGH_ARGUMENTS_PLAYER, sender);
+            else sendHelp(sender);
+        });
+        // Everything under player needs at least the player.
+        playerNode.literal("addpermission").executes(respond(needsPlayer(player::handleAddPermission)));
+        playerNode.literal("removepermission").executes(respond(needsPlayer(player::handleRemovePermission)));
+        playerNode.literal("addgroup").executes(respond(needsPlayer(player::handleAddPlayerToGroup)));
+        playerNode.literal("listpermissions").executes(respond(needsPlayer(player::handleListPermissions)));
+        playerNode.literal("listgroups").executes(respond(needsPlayer(player::handleListGroups)));
+        playerNode.literal("removegroup").executes(respond(needsPlayer(player::handleRemovePlayerFromGroup)));
+        playerNode.literal("primarygroup").executes(respond(needsPlayer(player::handleSetOrGetPrimaryGroup)));
+
+        LadderCommand ladder = plugin.getLadderCommand();
+        CommandNode ladderNode = root.literal("ladder").executes((sender, args) -> {
+            if (args.size() < 1) sendHelp(sender);
+            else sendResponse(PermissifyConstants.NOT_ENOUGH_ARGUMENTS_LADDER, sender);
+        });
+        ladderNode.literal("create", "add").executes(respond(ladder::handleCreateLadder));
+        ladderNode.literal("remove", "delete").executes(respond(ladder::handleDeleteLadder));
+        ladderNode.literal("set").executes(respond(ladder::handleSetLevel));
+        ladderNode.literal("unset").executes(respond(ladder::handleUnsetLevel));
+        ladderNode.literal("list").executes(respond(ladder::handleListLadders));
+    }
+
     @Override
     public boolean onCommand(CommandSender sender, Command command, String s, String[] args) {
         PermissifyMain plugin = PermissifyMain.getInstance();
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent()) {
-                sendResponse(PermissifyConstants.UNABLE_OTHER.replace("<REASON>", "No database handler"), sender);
-                return;
-            }
-            if (sender instanceof ConsoleCommandSender) {
-                if (args[0].equalsIgnoreCase("superadmin")) {
-                    if (args.length < 3) {
-                        sender.sendMessage(ColorUtil.makeReadable(PermissifyConstants.NOT_ENOUGH_ARGUMENTS_SUPERADMIN));
-                        return;
-                    }
-                    Player player = Bukkit.getPlayer(args[2]);
-                    if (player == null || !player.isOnline()) return;
-
-                    if (args[1].equalsIgnoreCase("grant")) {
-                        plugin.getPermissifyAPI().getDatabaseHandler().get().addSuperAdmin(player.getUniqueId());
-                        return;
-                    } else if (args[1].equalsIgnoreCase("remove")) {
-                        plugin.getPermissifyAPI().getDatabaseHandler().get().removeSuperAdmin(player.getUniqueId());
-                        return;
-                    } else {
-                        sender.sendMessage(ColorUtil.makeReadable(PermissifyConstants.INVALID_ARGUMENT.replace("<ARGUMENT>", args[1])));
-                        return;
-                    }
-                }
-            }
-            if (sender instanceof CommandBlock && !plugin.getConfig().getBoolean("allow-command-block", false)) return;
-
-            if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_BASIC)) {
-                sender.sendMessage(ColorUtil.makeReadable(PermissifyConstants.INSUFFICIENT_PERMISSIONS));
-                return;
-            }
-
-            if (args.length >= 1) {
-                if (args[0].equalsIgnoreCase("help")) {
-                    int page = 0;
-                    if (args.length >= 2) {
-                        try {
-                            page = Integer.parseInt(args[1]);
-                        } catch (NumberFormatException ignored) {
-                        }
-                    }
-                    page -= 1;
-                    if (page < 0) page = 0;
-                    sendHelp(sender, page);
-                    return;
-                } else if (args[0].equalsIgnoreCase("cache")) {
-                    String response = plugin.getCacheCommand().handleCache(sender, ArgumentUtil.getRemainingArgs(1, args));
-                    sendResponse(response, sender);
-                    return;
-                }
-            }
-
-            if (args.length < 2) {
-                sendHelp(sender);
-                return;
-            }
-            if (args[0].equalsIgnoreCase("group")) {
-                String response;
-                if (args[1].equalsIgnoreCase("create") || args[1].equalsIgnoreCase("add"))
-                    response = plugin.getGroupCommand().handleAddGroup(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("remove") || args[1].equalsIgnoreCase("delete"))
-                    response = plugin.getGroupCommand().handleDeleteGroup(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("addpermission"))
-                    response = plugin.getGroupCommand().handlePermissionAdd(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("removepermission"))
-                    response = plugin.getGroupCommand().handlePermissionRemove(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("list"))
-                    response = plugin.getGroupCommand().handleListGroups(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("listpermissions"))
-                    response = plugin.getGroupCommand().handleListPermissions(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("default"))
-                    response = plugin.getGroupCommand().handleSetDefault(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else {
-                    sendHelp(sender);
-                    return;
-                }
-                sendResponse(response, sender);
-            } else if (args[0].equalsIgnoreCase("player")) {
-                String response;
-                if (args.length < 3) {
-                    sendResponse(PermissifyConstants.NOT_ENOUGH_ARGUMENTS_PLAYER, sender);
-                    return;
-                }
-                if (args[1].equalsIgnoreCase("addpermission"))
-                    response = plugin.getPlayerCommand().handleAddPermission(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("removepermission"))
-                    response = plugin.getPlayerCommand().handleRemovePermission(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("addgroup"))
-                    response = plugin.getPlayerCommand().handleAddPlayerToGroup(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("listpermissions"))
-                    response = plugin.getPlayerCommand().handleListPermissions(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("listgroups"))
-                    response = plugin.getPlayerCommand().handleListGroups(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("removegroup")) response = plugin.getPlayerCommand().handleRemovePlayerFromGroup(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else if (args[1].equalsIgnoreCase("primarygroup")) response = plugin.getPlayerCommand().handleSetOrGetPrimaryGroup(sender, ArgumentUtil.getRemainingArgs(2, args));
-                else {
-                    sendHelp(sender);
-                    return;
-                }
-                sendResponse(response, sender);
-            } else if (args[0].equalsIgnoreCase("profile")) {
-                String response = plugin.getProfileCommand().handleProfile(sender, ArgumentUtil.getRemainingArgs(1, args));
-                sender.sendMessage(ColorUtil.makeReadable(response));
-            } else sendHelp(sender);
+        if (sender instanceof CommandBlock && !plugin.getConfig().getBoolean("allow-command-block", false)) return false;
+
+        AtomicInteger running = pending.computeIfAbsent(sender.getName(), name -> new AtomicInteger());
+        if (running.incrementAndGet() > maximumPerSender) {
+            finished(sender, running);
+            sendResponse(PermissifyConstants.TOO_MANY_COMMANDS, sender);
+            return false;
+        }
+        executor.run(() -> execute(sender, new Arguments(args))).whenComplete((ignored, e) -> {
+            finished(sender, running);
+            if (e == null) return;
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RejectedExecutionException) sendResponse(PermissifyConstants.COMMANDS_BUSY, sender);
+            else plugin.getLogger().log(Level.SEVERE, "Could not run command /" + s + " " + String.join(" ", args), cause);
         });
         return false;
     }
 
+    private void execute(CommandSender sender, Arguments args) {
+        PermissifyMain plugin = PermissifyMain.getInstance();
+        if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent()) {
+            sendResponse(MessageUtil.format(PermissifyConstants.UNABLE_OTHER, "REASON", "No database handler"), sender);
+            return;
+        }
+        if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_BASIC)) {
+            sendResponse(PermissifyConstants.INSUFFICIENT_PERMISSIONS, sender);
+            return;
+        }
+        root.dispatch(sender, args);
+    }
+
+    private void finished(CommandSender sender, AtomicInteger running) {
+        if (running.decrementAndGet() <= 0) pending.remove(sender.getName(), running);
+    }
+
+    private void handleSuperAdmin(CommandSender sender, Arguments args) {
+        if (!(sender instanceof ConsoleCommandSender)) {
+            sendHelp(sender);
+            return;
+        }
+        if (args.size() < 2) sendResponse(PermissifyConstants.NOT_ENOUGH_ARGUMENTS_SUPERADMIN, sender);
+        else sendResponse(MessageUtil.format(PermissifyConstants.INVALID_ARGUMENT, "ARGUMENT", args.get(0)), sender);
+    }
+
+    private void handleSuperAdmin(CommandSender sender, Arguments args, boolean grant) {
+        if (!(sender instanceof ConsoleCommandSender)) {
+            sendHelp(sender);
+            return;
+        }
+        if (args.size() < 1) {
+            sendResponse(PermissifyConstants.NOT_ENOUGH_ARGUMENTS_SUPERADMIN, sender);
+            return;
+        }
+        Optional<Player> player = args.get(0, ArgumentParser.ONLINE_PLAYER);
+        if (!player.isPresent()) return;
+
+        PermissifyMain.getInstance().getPermissifyAPI().getDatabaseHandler().ifPresent(handler -> {
+            if (grant) handler.addSuperAdmin(player.get().getUniqueId());
+            else handler.removeSuperAdmin(player.get().getUniqueId());
+        });
+    }
+
+    /**
+     * Make a subcommand's handler send its response.
+     *
+     * @param handler the subcommand's handler
+     * @return the handler for the tree
+     */
+    private CommandNode.Handler respond(BiFunction<CommandSender, Arguments, String> handler) {
+        return (sender, args) -> sendResponse(handler.apply(sender, args), sender);
+    }
+
+    private BiFunction<CommandSender, Arguments, String> needsPlayer(BiFunction<CommandSender, Arguments, String> handler) {
+        return (sender, args) -> args.size() < 1 ? PermissifyConstants.NOT_ENOUGH_ARGUMENTS_PLAYER : handler.apply(sender, args);
+    }
+
     private void sendResponse(List<String> responses, CommandSender source) {
         responses.forEach(response -> sendResponse(response, source));
     }
 
     private void sendResponse(String response, CommandSender source) {
         if (response.equals("")) return;
-        source.sendMessage(ColorUtil.makeReadable(response));  // XXX: Probably don't need ColorUtil anymore...
+        source.sendMessage(MessageUtil.makeReadable(response));
     }
 
     private void sendHelp(CommandSender player) {
@@ -171,6 +219,7 @@ public class PermissifyCommand implements CommandExecutor {
     }
 
     private void sendHelp(CommandSender player, int page) {
+        page = Math.max(0, Math.min(page, PermissifyConstants.PERMISSIFY_HELP_PAGES.size() - 1));
         sendResponse(PermissifyConstants.PERMISSIFY_HELP_HEADER, player);
         sendResponse(PermissifyConstants.PERMISSIFY_HELP_PAGES.get(page), player);
         sendResponse(PermissifyConstants.PERMISSIFY_HELP_FOOTER, player);
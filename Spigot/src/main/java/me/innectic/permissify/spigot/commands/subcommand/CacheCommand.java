@@ -26,9 +26,11 @@ package me.innectic.permissify.spigot.commands.subcommand;
 
 import me.innectic.permissify.api.PermissifyConstants;
 import me.innectic.permissify.api.database.DatabaseHandler;
+import me.innectic.permissify.api.permission.MemoryReport;
 import me.innectic.permissify.api.permission.PermissionGroup;
-import me.innectic.permissify.api.util.ArgumentUtil;
 import me.innectic.permissify.spigot.PermissifyMain;
+import me.innectic.permissify.spigot.commands.tree.Arguments;
+import me.innectic.permissify.spigot.utils.MessageUtil;
 import me.innectic.permissify.spigot.utils.PermissionUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
@@ -42,24 +44,34 @@ import java.util.stream.Collectors;
  */
 public class CacheCommand {
 
-    public String handleCache(CommandSender sender, String[] args) {
+    public String handleCache(CommandSender sender, Arguments args) {
         if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_CACHE))
             return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
 
-        if (args.length >= 1 && args[0].equalsIgnoreCase("purge")) return handleCachePurge(sender, ArgumentUtil.getRemainingArgs(1, args));
         if (!PermissifyMain.getInstance().getPermissifyAPI().getDatabaseHandler().isPresent())
-            return PermissifyConstants.UNABLE_OTHER.replace("<REASON>", "No database handler");
+            return MessageUtil.format(PermissifyConstants.UNABLE_OTHER, "REASON", "No database handler");
 
         // Show information about the current cache
         DatabaseHandler handler = PermissifyMain.getInstance().getPermissifyAPI().getDatabaseHandler().get();
-        return PermissifyConstants.CACHE_INFORMATION.replace("<GROUPS>", Integer.toString(handler.getCachedGroups().size()))
-                .replace("<PERMISSIONS>", Integer.toString(handler.getCachedPermissions().size()))
-                .replace("<DEFAULT>", handler.getDefaultGroup().map(PermissionGroup::getName).orElse(PermissifyConstants.EMPTY_DEFAULT_GROUP_NAME));
+        MemoryReport memory = handler.getMemoryReport();
+        return MessageUtil.format(PermissifyConstants.CACHE_INFORMATION,
+                "GROUPS", Integer.toString(handler.getCachedGroups().size()),
+                "PERMISSIONS", Integer.toString(handler.getCachedPermissions().size()),
+                "DEFAULT", handler.getDefaultGroup().map(PermissionGroup::getName).orElse(PermissifyConstants.EMPTY_DEFAULT_GROUP_NAME),
+                "QUEUE", Integer.toString(handler.getPendingWrites()),
+                "NODES", Integer.toString(memory.getDistinctNodes()),
+                "HEAP", Long.toString(memory.getEncodedBytes() / 1024),
+                "SAVED", Long.toString(memory.getSavedBytes() / 1024),
+                "COMPILED", Integer.toString(handler.getDistinctEffectivePermissions()),
+                "PLAYERS", Integer.toString(handler.getCompiledPlayers()));
     }
 
-    private String handleCachePurge(CommandSender sender, String[] args) {
+    public String handleCachePurge(CommandSender sender, Arguments args) {
+        if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_CACHE))
+            return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
+
         if (!PermissifyMain.getInstance().getPermissifyAPI().getDatabaseHandler().isPresent())
-            return PermissifyConstants.UNABLE_OTHER.replace("<REASON>", "No database handler");
+            return MessageUtil.format(PermissifyConstants.UNABLE_OTHER, "REASON", "No database handler");
 
         PermissifyMain.getInstance().getPermissifyAPI().getDatabaseHandler().get().reload(Bukkit.getOnlinePlayers().stream().map(Player::getUniqueId).collect(Collectors.toList()));
         Bukkit.getScheduler().runTaskAsynchronously(PermissifyMain.getInstance(), () -> Bukkit.getOnlinePlayers().forEach(PermissionUtil::applyPermissions));
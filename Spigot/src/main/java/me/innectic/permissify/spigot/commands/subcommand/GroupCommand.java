@@ -30,8 +30,9 @@ import me.innectic.permissify.spigot.PermissifyMain;
 import me.innectic.permissify.api.PermissifyConstants;
 import me.innectic.permissify.api.permission.Permission;
 import me.innectic.permissify.api.permission.PermissionGroup;
-import me.innectic.permissify.api.util.ArgumentUtil;
+import me.innectic.permissify.spigot.commands.tree.Arguments;
 import me.innectic.permissify.spigot.utils.ColorUtil;
+import me.innectic.permissify.spigot.utils.MessageUtil;
 import me.innectic.permissify.spigot.utils.PermissionUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -53,23 +54,23 @@ public class GroupCommand {
      * @param args   the extra arguments of the command
      * @return the response, and if it was successful
      */
-    public String handleAddGroup(CommandSender sender, String[] args) {
+    public String handleAddGroup(CommandSender sender, Arguments args) {
         PermissifyMain plugin = PermissifyMain.getInstance();
 
         if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_GROUP_CREATE))
             return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
 
         if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
-            return PermissifyConstants.UNABLE_TO_CREATE.replace("<TYPE>", "group").replace("<REASON>", "No database handler.");
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_CREATE, "TYPE", "group", "REASON", "No database handler.");
 
-        if (args.length < 5) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_GROUP_CREATE;
-        if (!ColorUtil.isValidChatColor(args[4])) return PermissifyConstants.INVALID_CHATCOLOR.replace("<COLOR>", args[4]);
+        if (args.size() < 5) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_GROUP_CREATE;
+        if (!ColorUtil.isValidChatColor(args.get(4))) return MessageUtil.format(PermissifyConstants.INVALID_CHATCOLOR, "COLOR", args.get(4));
 
         // Create the new group
-        Tristate created = plugin.getPermissifyAPI().getDatabaseHandler().get().createGroup(args[0], args[1], args[2], args[3], args[4]);
-        if (created == Tristate.TRUE) return PermissifyConstants.GROUP_CREATED.replace("<GROUP>", args[0]);
-        else if (created == Tristate.NONE) return PermissifyConstants.GROUP_ALREADY_EXISTS.replace("<GROUP>", args[0]);
-        return PermissifyConstants.UNABLE_TO_CREATE.replace("<TYPE>", "group").replace("<REASON>", "Unable to connect to database.");
+        Tristate created = plugin.getPermissifyAPI().getDatabaseHandler().get().createGroup(args.get(0), args.get(1), args.get(2), args.get(3), args.get(4));
+        if (created == Tristate.TRUE) return MessageUtil.format(PermissifyConstants.GROUP_CREATED, "GROUP", args.get(0));
+        else if (created == Tristate.NONE) return MessageUtil.format(PermissifyConstants.GROUP_ALREADY_EXISTS, "GROUP", args.get(0));
+        return MessageUtil.format(PermissifyConstants.UNABLE_TO_CREATE, "TYPE", "group", "REASON", "Unable to connect to database.");
     }
 
     /**
@@ -79,7 +80,7 @@ public class GroupCommand {
      * @param args the arguments of the command
      * @return the response, and if it was successful
      */
-    public String handleDeleteGroup(CommandSender sender, String[] args) {
+    public String handleDeleteGroup(CommandSender sender, Arguments args) {
         PermissifyMain plugin = PermissifyMain.getInstance();
 
         // Check permissions and arguments
@@ -87,125 +88,109 @@ public class GroupCommand {
             return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
 
         if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
-            return PermissifyConstants.UNABLE_TO_REMOVE.replace("<TYPE>", "group").replace("<REASON>", "No database handler");
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_REMOVE, "TYPE", "group", "REASON", "No database handler");
 
-        if (args.length < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_GROUP_REMOVE;
-        Optional<PermissionGroup> group = plugin.getPermissifyAPI().getDatabaseHandler().get().getGroup(args[0]);
-        if (!group.isPresent()) return PermissifyConstants.INVALID_GROUP.replace("<GROUP>", args[0]);
+        if (args.size() < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_GROUP_REMOVE;
+        Optional<PermissionGroup> group = plugin.getPermissifyAPI().getDatabaseHandler().get().getGroup(args.get(0));
+        if (!group.isPresent()) return MessageUtil.format(PermissifyConstants.INVALID_GROUP, "GROUP", args.get(0));
 
         List<UUID> playersInGroup = group.get().getPlayers().entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toList());
-        Tristate removed = plugin.getPermissifyAPI().getDatabaseHandler().get().deleteGroup(args[0]);
+        Tristate removed = plugin.getPermissifyAPI().getDatabaseHandler().get().deleteGroup(args.get(0));
         if (removed == Tristate.TRUE) {
             Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> playersInGroup.stream().map(Bukkit::getPlayer).filter(Objects::nonNull).forEach(PermissionUtil::applyPermissions));
-            return PermissifyConstants.GROUP_REMOVED.replace("<GROUP>", args[0]);
-        } else if (removed == Tristate.NONE) return PermissifyConstants.INVALID_GROUP.replace("<GROUP>", args[0]);
-        return PermissifyConstants.UNABLE_TO_REMOVE.replace("<TYPE>", "group").replace("<REASON>", "Unable to connect to database");
+            return MessageUtil.format(PermissifyConstants.GROUP_REMOVED, "GROUP", args.get(0));
+        } else if (removed == Tristate.NONE) return MessageUtil.format(PermissifyConstants.INVALID_GROUP, "GROUP", args.get(0));
+        return MessageUtil.format(PermissifyConstants.UNABLE_TO_REMOVE, "TYPE", "group", "REASON", "Unable to connect to database");
     }
 
-    public String handlePermissionAdd(CommandSender sender, String[] args) {
+    public String handlePermissionAdd(CommandSender sender, Arguments args) {
         PermissifyMain plugin = PermissifyMain.getInstance();
         if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
-            return PermissifyConstants.UNABLE_TO_CREATE.replace("<TYPE>", "group").replace("<REASON>", "No database handler.");
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_CREATE, "TYPE", "group", "REASON", "No database handler.");
 
         if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_GROUP_PERMISSION_ADD))
             return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
-        if (args.length < 2) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_GROUP_PERMISSION_ADD;
-
-        boolean added = plugin.getPermissifyAPI().getDatabaseHandler().get().addGroupPermission(args[0], ArgumentUtil.getRemainingArgs(1, args));
-        if (!added) return PermissifyConstants.UNABLE_TO_ADD.replace(
-                "<REASON>", "Permission is already on group!");
-
-        String[] remaining = ArgumentUtil.getRemainingArgs(1, args);
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent()) return;
-            Optional<PermissionGroup> group = plugin.getPermissifyAPI().getDatabaseHandler().get().getGroup(args[0]);
-            group.ifPresent(permissionGroup -> {
-                Arrays.stream(remaining).forEach(permissionGroup::addPermission);
-                permissionGroup.getPlayers().entrySet().stream().map(Map.Entry::getKey).map(Bukkit::getPlayer).filter(Objects::nonNull).forEach(PermissionUtil::applyPermissions);
-            });
-        });
-        return PermissifyConstants.PERMISSION_ADDED_GROUP.replace("<PERMISSION>",
-                String.join(", ", ArgumentUtil.getRemainingArgs(1, args))).replace("<GROUP>", args[0]);
+        if (args.size() < 2) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_GROUP_PERMISSION_ADD;
+
+        boolean added = plugin.getPermissifyAPI().getDatabaseHandler().get().addGroupPermission(args.get(0), args.from(1).toArray());
+        if (!added) return MessageUtil.format(PermissifyConstants.UNABLE_TO_ADD,
+                "REASON", "Permission is already on group!");
+
+        // Online players pick the change up through the group change listener.
+        return MessageUtil.format(PermissifyConstants.PERMISSION_ADDED_GROUP,
+                "PERMISSION", String.join(", ", args.from(1)), "GROUP", args.get(0));
     }
 
-    public String handlePermissionRemove(CommandSender sender, String[] args) {
+    public String handlePermissionRemove(CommandSender sender, Arguments args) {
         PermissifyMain plugin = PermissifyMain.getInstance();
         if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_GROUP_PERMISSION_REMOVE))
             return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
 
         if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
-            return PermissifyConstants.UNABLE_TO_CREATE.replace("<TYPE>", "group").replace("<REASON>", "No database handler.");
-
-        if (args.length < 2) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_GROUP_PERMISSION_REMOVE;
-        String[] remaining = ArgumentUtil.getRemainingArgs(1, args);
-        boolean added = plugin.getPermissifyAPI().getDatabaseHandler().get().removeGroupPermission(args[0], remaining);
-        if (!added) return PermissifyConstants.UNABLE_TO_REMOVE.replace("<TYPE>", "permission").replace("<REASON>", "Permission isn't on group!");
-
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent()) return;
-            Optional<PermissionGroup> group = plugin.getPermissifyAPI().getDatabaseHandler().get().getGroup(args[0]);
-            group.ifPresent(permissionGroup -> {
-                for (String permission : remaining) permissionGroup.removePermission(permission);
-                permissionGroup.getPlayers().keySet().stream().map(Bukkit::getPlayer).filter(Objects::nonNull).forEach(PermissionUtil::applyPermissions);
-            });
-        });
-
-        return PermissifyConstants.PERMISSION_REMOVED_GROUP.replace("<PERMISSION>",
-                String.join(", ", remaining)).replace("<GROUP>", args[0]);
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_CREATE, "TYPE", "group", "REASON", "No database handler.");
+
+        if (args.size() < 2) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_GROUP_PERMISSION_REMOVE;
+        Arguments remaining = args.from(1);
+        boolean added = plugin.getPermissifyAPI().getDatabaseHandler().get().removeGroupPermission(args.get(0), remaining.toArray());
+        if (!added) return MessageUtil.format(PermissifyConstants.UNABLE_TO_REMOVE, "TYPE", "permission", "REASON", "Permission isn't on group!");
+
+        return MessageUtil.format(PermissifyConstants.PERMISSION_REMOVED_GROUP,
+                "PERMISSION", String.join(", ", remaining), "GROUP", args.get(0));
     }
 
-    public String handleListPermissions(CommandSender sender, String[] args) {
+    public String handleListPermissions(CommandSender sender, Arguments args) {
         PermissifyMain plugin = PermissifyMain.getInstance();
         if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_GROUP_PERMISSION_LIST))
             return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
 
         if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
-            return PermissifyConstants.UNABLE_TO_LIST.replace("<REASON>", "No database handler");
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_LIST, "REASON", "No database handler");
 
-        if (args.length < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_GROUP_PERMISSION_LIST;
+        if (args.size() < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_GROUP_PERMISSION_LIST;
 
-        Optional<PermissionGroup> group = plugin.getPermissifyAPI().getDatabaseHandler().get().getGroup(args[0]);
-        if (!group.isPresent()) return PermissifyConstants.INVALID_GROUP.replace("<GROUP>", args[0]);
+        Optional<PermissionGroup> group = plugin.getPermissifyAPI().getDatabaseHandler().get().getGroup(args.get(0));
+        if (!group.isPresent()) return MessageUtil.format(PermissifyConstants.INVALID_GROUP, "GROUP", args.get(0));
 
         List<String> groupPermissions = group.get().getPermissions().stream().map(Permission::getPermission).collect(Collectors.toList());
-        return PermissifyConstants.GROUP_PERMISSIONS.replace("<GROUP>", group.get().getName())
-                .replace("<PERMISSIONS>", String.join(", ", groupPermissions));
+        return MessageUtil.format(PermissifyConstants.GROUP_PERMISSIONS,
+                "GROUP", group.get().getName(), "PERMISSIONS", String.join(", ", groupPermissions));
     }
 
-    public String handleListGroups(CommandSender sender, String[] args) {
+    public String handleListGroups(CommandSender sender, Arguments args) {
         PermissifyMain plugin = PermissifyMain.getInstance();
         if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_GROUP_LIST))
             return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
 
         if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
-            return PermissifyConstants.UNABLE_TO_LIST.replace("<REASON>", "No database handler");
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_LIST, "REASON", "No database handler");
 
-        Map<String, PermissionGroup> groups = plugin.getPermissifyAPI().getDatabaseHandler().get().getGroups();
-        return PermissifyConstants.GROUP_LIST.replace("<GROUPS>", String.join(", ", groups.keySet()));
+        List<String> groups = plugin.getPermissifyAPI().getDatabaseHandler().get().getGroups().values().stream()
+                .map(PermissionGroup::getName).collect(Collectors.toList());
+        return MessageUtil.format(PermissifyConstants.GROUP_LIST, "GROUPS", String.join(", ", groups));
     }
 
-    public String handleSetDefault(CommandSender sender, String[] args) {
+    public String handleSetDefault(CommandSender sender, Arguments args) {
         PermissifyMain plugin = PermissifyMain.getInstance();
         if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_GROUP_DEFAULT))
             return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
 
         if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
-            return PermissifyConstants.UNABLE_TO_SET.replace("<REASON>", "No database handler");
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_SET, "REASON", "No database handler");
 
         DatabaseHandler handler = plugin.getPermissifyAPI().getDatabaseHandler().get();
 
-        if (args.length < 1) {
+        if (args.size() < 1) {
             // If we only have one, show the default group.
             String defaultGroupName = handler.getDefaultGroup().map(group -> ChatColor.getByChar(group.getChatColor()) + group.getName())
                     .orElse(PermissifyConstants.EMPTY_DEFAULT_GROUP_NAME);
-            return PermissifyConstants.DEFAULT_GROUP_RESPONSE.replace("<GROUP>", defaultGroupName);
+            return MessageUtil.format(PermissifyConstants.DEFAULT_GROUP_RESPONSE, "GROUP", defaultGroupName);
         }
 
-        Optional<PermissionGroup> defaultGroup = handler.getGroup(args[0]);
+        Optional<PermissionGroup> defaultGroup = handler.getGroup(args.get(0));
         if (!defaultGroup.isPresent())
-            return PermissifyConstants.INVALID_GROUP.replace("<GROUP>", args[0]);
+            return MessageUtil.format(PermissifyConstants.INVALID_GROUP, "GROUP", args.get(0));
 
         handler.setDefaultGroup(defaultGroup.get());
-        return PermissifyConstants.DEFAULT_GROUP_SET.replace("<GROUP>", args[0]);
+        return MessageUtil.format(PermissifyConstants.DEFAULT_GROUP_SET, "GROUP", args.get(0));
     }
 }
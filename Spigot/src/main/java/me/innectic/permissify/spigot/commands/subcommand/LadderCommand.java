@@ -0,0 +1,150 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.spigot.commands.subcommand;
+
+import me.innectic.permissify.api.PermissifyConstants;
+import me.innectic.permissify.api.database.DatabaseHandler;
+import me.innectic.permissify.api.permission.Ladder;
+import me.innectic.permissify.api.permission.PermissionGroup;
+import me.innectic.permissify.api.util.Tristate;
+import me.innectic.permissify.spigot.PermissifyMain;
+import me.innectic.permissify.spigot.commands.tree.ArgumentParser;
+import me.innectic.permissify.spigot.commands.tree.Arguments;
+import me.innectic.permissify.spigot.utils.MessageUtil;
+import me.innectic.permissify.spigot.utils.PermissionUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ */
+public class LadderCommand {
+
+    public String handleCreateLadder(CommandSender sender, Arguments args) {
+        PermissifyMain plugin = PermissifyMain.getInstance();
+        if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_LADDER_CREATE))
+            return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
+
+        if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_CREATE, "TYPE", "ladder", "REASON", "No database handler.");
+
+        if (args.size() < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_LADDER_CREATE;
+        Tristate created = plugin.getPermissifyAPI().getDatabaseHandler().get().createLadder(args.get(0));
+        if (created == Tristate.NONE) return MessageUtil.format(PermissifyConstants.LADDER_ALREADY_EXISTS, "LADDER", args.get(0));
+        return MessageUtil.format(PermissifyConstants.LADDER_CREATED, "LADDER", args.get(0));
+    }
+
+    public String handleDeleteLadder(CommandSender sender, Arguments args) {
+        PermissifyMain plugin = PermissifyMain.getInstance();
+        if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_LADDER_REMOVE))
+            return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
+
+        if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_REMOVE, "TYPE", "ladder", "REASON", "No database handler");
+
+        if (args.size() < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_LADDER_REMOVE;
+        Tristate removed = plugin.getPermissifyAPI().getDatabaseHandler().get().deleteLadder(args.get(0));
+        if (removed == Tristate.NONE) return MessageUtil.format(PermissifyConstants.INVALID_LADDER, "LADDER", args.get(0));
+
+        reapplyPermissions();
+        return MessageUtil.format(PermissifyConstants.LADDER_REMOVED, "LADDER", args.get(0));
+    }
+
+    public String handleSetLevel(CommandSender sender, Arguments args) {
+        PermissifyMain plugin = PermissifyMain.getInstance();
+        if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_LADDER_SET))
+            return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
+
+        if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_SET, "REASON", "No database handler");
+
+        if (args.size() < 3) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_LADDER_SET;
+        DatabaseHandler handler = plugin.getPermissifyAPI().getDatabaseHandler().get();
+        Optional<PermissionGroup> group = handler.getGroup(args.get(1));
+        if (!group.isPresent()) return MessageUtil.format(PermissifyConstants.INVALID_GROUP, "GROUP", args.get(1));
+        Optional<Integer> parsed = args.get(2, ArgumentParser.INTEGER);
+        if (!parsed.isPresent()) return MessageUtil.format(PermissifyConstants.INVALID_POWER, "POWER", args.get(2));
+        int power = parsed.get();
+
+        Tristate set = handler.setLadderLevel(args.get(0), group.get(), power);
+        if (set == Tristate.FALSE) return MessageUtil.format(PermissifyConstants.INVALID_LADDER, "LADDER", args.get(0));
+        if (set == Tristate.NONE) return MessageUtil.format(PermissifyConstants.LADDER_ALREADY_SET, "GROUP", group.get().getName(), "LADDER", args.get(0));
+
+        reapplyPermissions();
+        return MessageUtil.format(PermissifyConstants.LADDER_LEVEL_SET,
+                "GROUP", group.get().getName(), "LADDER", args.get(0), "POWER", Integer.toString(power));
+    }
+
+    public String handleUnsetLevel(CommandSender sender, Arguments args) {
+        PermissifyMain plugin = PermissifyMain.getInstance();
+        if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_LADDER_SET))
+            return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
+
+        if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_REMOVE, "TYPE", "group", "REASON", "No database handler");
+
+        if (args.size() < 2) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_LADDER_UNSET;
+        DatabaseHandler handler = plugin.getPermissifyAPI().getDatabaseHandler().get();
+        Optional<PermissionGroup> group = handler.getGroup(args.get(1));
+        if (!group.isPresent()) return MessageUtil.format(PermissifyConstants.INVALID_GROUP, "GROUP", args.get(1));
+
+        Tristate removed = handler.removeFromLadder(args.get(0), group.get());
+        if (removed == Tristate.FALSE) return MessageUtil.format(PermissifyConstants.INVALID_LADDER, "LADDER", args.get(0));
+        if (removed == Tristate.NONE) return MessageUtil.format(PermissifyConstants.GROUP_NOT_ON_LADDER, "GROUP", group.get().getName(), "LADDER", args.get(0));
+
+        reapplyPermissions();
+        return MessageUtil.format(PermissifyConstants.LADDER_LEVEL_REMOVED, "GROUP", group.get().getName(), "LADDER", args.get(0));
+    }
+
+    public String handleListLadders(CommandSender sender, Arguments args) {
+        PermissifyMain plugin = PermissifyMain.getInstance();
+        if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_LADDER_LIST))
+            return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
+
+        if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent())
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_LIST, "REASON", "No database handler");
+
+        DatabaseHandler handler = plugin.getPermissifyAPI().getDatabaseHandler().get();
+        if (args.size() < 1) {
+            return MessageUtil.format(PermissifyConstants.LADDER_LIST,
+                    "LADDERS", handler.getCachedLadders().values().stream().map(Ladder::getName).collect(Collectors.joining(", ")));
+        }
+        Optional<Ladder> ladder = handler.getLadder(args.get(0));
+        if (!ladder.isPresent()) return MessageUtil.format(PermissifyConstants.INVALID_LADDER, "LADDER", args.get(0));
+        return MessageUtil.format(PermissifyConstants.LADDER_GROUPS,
+                "LADDER", ladder.get().getName(), "GROUPS", String.join(", ", ladder.get().getGroups()));
+    }
+
+    /**
+     * Changing a ladder can change what any group inherits, so everyone online needs their permissions again.
+     */
+    private void reapplyPermissions() {
+        Bukkit.getScheduler().runTaskAsynchronously(PermissifyMain.getInstance(), () -> Bukkit.getOnlinePlayers().forEach(PermissionUtil::applyPermissions));
+    }
+}
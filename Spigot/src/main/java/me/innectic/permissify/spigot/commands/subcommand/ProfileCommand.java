@@ -27,8 +27,9 @@ package me.innectic.permissify.spigot.commands.subcommand;
 import me.innectic.permissify.api.PermissifyConstants;
 import me.innectic.permissify.api.database.DatabaseHandler;
 import me.innectic.permissify.api.profile.PermissifyProfile;
-import me.innectic.permissify.api.util.ArgumentUtil;
 import me.innectic.permissify.spigot.PermissifyMain;
+import me.innectic.permissify.spigot.commands.tree.Arguments;
+import me.innectic.permissify.spigot.utils.MessageUtil;
 import me.innectic.permissify.spigot.utils.PermissionUtil;
 import org.bukkit.command.CommandSender;
 
@@ -41,44 +42,49 @@ import java.util.logging.Logger;
  */
 public class ProfileCommand {
 
-    public String handleProfile(CommandSender sender, String[] args) {
+    public String handleProfile(CommandSender sender, Arguments args) {
         if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_PROFILE))
             return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
 
-        if (args.length < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_PROFILE;
-        if (args[0].equalsIgnoreCase("save")) return handleSaveProfile(sender, ArgumentUtil.getRemainingArgs(1, args));
-        else if (args[0].equalsIgnoreCase("load")) return handleLoadProfile(sender, ArgumentUtil.getRemainingArgs(1, args));
-        return PermissifyConstants.INVALID_ARGUMENT.replace("<ARGUMENT>", args[0]);
+        // Saving and loading are their own commands, so this only runs without either.
+        if (args.size() < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_PROFILE;
+        return MessageUtil.format(PermissifyConstants.INVALID_ARGUMENT, "ARGUMENT", args.get(0));
     }
 
-    private String handleSaveProfile(CommandSender sender, String[] args) {
-        if (args.length < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_PROFILE_SAVE;
+    public String handleSaveProfile(CommandSender sender, Arguments args) {
+        if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_PROFILE))
+            return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
+
+        if (args.size() < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_PROFILE_SAVE;
         if (!PermissifyMain.getInstance().getPermissifyAPI().getDatabaseHandler().isPresent())
-            return PermissifyConstants.UNABLE_TO_SET.replace("<REASON>", "No database handler");
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_SET, "REASON", "No database handler");
 
-        boolean saved = saveProfile(args[0]);
-        if (saved) return PermissifyConstants.PROFILE_SAVED.replace("<PROFILE>", args[0]);
-        return PermissifyConstants.PROFILE_NOT_SAVED.replace("<PROFILE>", args[0]);
+        boolean saved = saveProfile(args.get(0));
+        if (saved) return MessageUtil.format(PermissifyConstants.PROFILE_SAVED, "PROFILE", args.get(0));
+        return MessageUtil.format(PermissifyConstants.PROFILE_NOT_SAVED, "PROFILE", args.get(0));
     }
 
-    private String handleLoadProfile(CommandSender sender, String[] args) {
-        if (args.length < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_PROFILE_LOAD;
+    public String handleLoadProfile(CommandSender sender, Arguments args) {
+        if (!PermissionUtil.hasPermissionOrSuperAdmin(sender, PermissifyConstants.PERMISSIFY_PROFILE))
+            return PermissifyConstants.INSUFFICIENT_PERMISSIONS;
+
+        if (args.size() < 1) return PermissifyConstants.NOT_ENOUGH_ARGUMENTS_PROFILE_LOAD;
         if (!PermissifyMain.getInstance().getPermissifyAPI().getDatabaseHandler().isPresent())
-            return PermissifyConstants.UNABLE_TO_SET.replace("<REASON>", "No database handler");
+            return MessageUtil.format(PermissifyConstants.UNABLE_TO_SET, "REASON", "No database handler");
         Logger logger = PermissifyMain.getInstance().getPermissifyAPI().getLogger();
 
-        boolean saved = saveProfile(args[0] + "-pre-load");
-        if (!saved) return PermissifyConstants.PROFILE_NOT_SAVED.replace("<PROFILE>", args[0]);
+        boolean saved = saveProfile(args.get(0) + "-pre-load");
+        if (!saved) return MessageUtil.format(PermissifyConstants.PROFILE_NOT_SAVED, "PROFILE", args.get(0));
 
         DatabaseHandler handler = PermissifyMain.getInstance().getPermissifyAPI().getDatabaseHandler().get();
 
         logger.info("Loading profile...");
         long originalStart = System.currentTimeMillis();
         String baseDir = PermissifyMain.getInstance().getDataFolder().getAbsolutePath();
-        Optional<PermissifyProfile> profile = PermissifyMain.getInstance().getPermissifyAPI().getProfileSerializer().deserialize(args[0], baseDir);
+        Optional<PermissifyProfile> profile = PermissifyMain.getInstance().getPermissifyAPI().getProfileSerializer().deserialize(args.get(0), baseDir);
         long end = System.currentTimeMillis();
         logger.info("Loaded profile in " + (end - originalStart) + " ms.");
-        if (!profile.isPresent()) return PermissifyConstants.PROFILE_NOT_LOADED.replace("<PROFILE>", args[0]);
+        if (!profile.isPresent()) return MessageUtil.format(PermissifyConstants.PROFILE_NOT_LOADED, "PROFILE", args.get(0));
 
         long start = System.currentTimeMillis();
         handler.drop();
@@ -86,8 +92,8 @@ public class ProfileCommand {
         end = System.currentTimeMillis();
         logger.info("Parsed profile in " + (end - start) + " ms.");
 
-        return PermissifyConstants.PROFILE_LOADED.replace("<PROFILE>", args[0])
-                .replace("<TIME>", Long.toString(end - originalStart));
+        return MessageUtil.format(PermissifyConstants.PROFILE_LOADED,
+                "PROFILE", args.get(0), "TIME", Long.toString(end - originalStart));
     }
 
     private boolean saveProfile(String name) {
@@ -100,7 +106,7 @@ public class ProfileCommand {
         long start = System.currentTimeMillis();
         PermissifyProfile profile = new PermissifyProfile(handler.getGroups(), handler.getCachedPermissions(),
                 handler.getDefaultGroup().isPresent() ? handler.getDefaultGroup().get() : null, handler.getSuperAdmins(),
-                PermissifyConstants.PERMISSIFY_PROFILE_VERSION);
+                handler.getCachedLadders(), PermissifyConstants.PERMISSIFY_PROFILE_VERSION);
         long end = System.currentTimeMillis();
         logger.info("Generated profile in " + (end - start) + " ms.");
 
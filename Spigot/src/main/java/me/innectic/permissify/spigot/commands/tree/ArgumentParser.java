@@ -0,0 +1,52 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.spigot.commands.tree;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Optional;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Turns a single argument into a value, or nothing if it isn't valid.
+ */
+@FunctionalInterface
+public interface ArgumentParser<T> {
+
+    ArgumentParser<Integer> INTEGER = argument -> {
+        try {
+            return Optional.of(Integer.parseInt(argument));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    };
+    ArgumentParser<Integer> POSITIVE_INTEGER = argument -> INTEGER.parse(argument).filter(value -> value > 0);
+    ArgumentParser<Player> ONLINE_PLAYER = argument -> Optional.ofNullable(Bukkit.getPlayer(argument));
+
+    Optional<T> parse(String argument);
+}
@@ -0,0 +1,114 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.spigot.commands.tree;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * The arguments left for a command, as a view over the original array. Moving past arguments never copies them.
+ */
+public class Arguments implements Iterable<String> {
+    private final String[] arguments;
+    private final int offset;
+
+    public Arguments(String[] arguments) {
+        this(arguments, 0);
+    }
+
+    private Arguments(String[] arguments, int offset) {
+        this.arguments = arguments;
+        this.offset = offset;
+    }
+
+    public int size() {
+        return arguments.length - offset;
+    }
+
+    public String get(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("Argument " + index + " of " + size());
+        return arguments[offset + index];
+    }
+
+    /**
+     * Parse an argument.
+     *
+     * @param index  the index of the argument
+     * @param parser how to parse it
+     * @return the parsed argument, empty if it's missing or couldn't be parsed
+     */
+    public <T> Optional<T> get(int index, ArgumentParser<T> parser) {
+        if (index < 0 || index >= size()) return Optional.empty();
+        return parser.parse(get(index));
+    }
+
+    /**
+     * Get the arguments from an index on.
+     *
+     * @param index the index to start from
+     * @return the remaining arguments, sharing this one's array
+     */
+    public Arguments from(int index) {
+        if (index == 0) return this;
+        return new Arguments(arguments, Math.min(arguments.length, offset + Math.max(0, index)));
+    }
+
+    /**
+     * Copy the arguments out, for passing along as an array.
+     *
+     * @return the arguments
+     */
+    public String[] toArray() {
+        return Arrays.copyOfRange(arguments, offset, arguments.length);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int next = offset;
+
+            @Override
+            public boolean hasNext() {
+                return next < arguments.length;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return arguments[next++];
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return String.join(" ", this);
+    }
+}
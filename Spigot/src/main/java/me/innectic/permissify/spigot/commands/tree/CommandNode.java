@@ -0,0 +1,98 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.spigot.commands.tree;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * A node in the command tree. Literal children are looked up by name, so dispatching only walks as deep as the
+ * command goes. Build the tree once, before it's used; it's only read afterwards, from any thread.
+ */
+public class CommandNode {
+    private final Map<String, CommandNode> children = new HashMap<>();
+    private Handler handler;
+
+    /**
+     * Get a literal child, adding it if it doesn't exist yet.
+     *
+     * @param name    the name of the child
+     * @param aliases other names for it
+     * @return the child
+     */
+    public CommandNode literal(String name, String... aliases) {
+        CommandNode child = children.computeIfAbsent(name.toLowerCase(Locale.ROOT), ignored -> new CommandNode());
+        for (String alias : aliases) children.put(alias.toLowerCase(Locale.ROOT), child);
+        return child;
+    }
+
+    /**
+     * Set what runs when the command stops at this node.
+     *
+     * @param handler the handler
+     * @return this node
+     */
+    public CommandNode executes(Handler handler) {
+        this.handler = handler;
+        return this;
+    }
+
+    /**
+     * Follow the literals in the arguments as far as they go, and run the deepest handler found along the way with
+     * whatever arguments are left after it.
+     *
+     * @param sender    who ran the command
+     * @param arguments the arguments given
+     * @return if a handler ran
+     */
+    public boolean dispatch(CommandSender sender, Arguments arguments) {
+        CommandNode node = this;
+        Handler found = handler;
+        Arguments remaining = arguments;
+        while (arguments.size() > 0) {
+            node = node.children.get(arguments.get(0).toLowerCase(Locale.ROOT));
+            if (node == null) break;
+            arguments = arguments.from(1);
+            if (node.handler != null) {
+                found = node.handler;
+                remaining = arguments;
+            }
+        }
+        if (found == null) return false;
+        found.handle(sender, remaining);
+        return true;
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+        void handle(CommandSender sender, Arguments arguments);
+    }
+}
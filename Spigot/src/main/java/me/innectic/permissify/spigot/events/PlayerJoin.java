@@ -32,8 +32,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 
-import java.util.Optional;
-
 /**
  * @author Innectic
  * @since 6/15/2017
@@ -44,14 +42,17 @@ public class PlayerJoin implements Listener {
     public void onPlayerJoinEvent(PlayerJoinEvent e) {
         PermissifyMain plugin = PermissifyMain.getInstance();
 
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            Player player = e.getPlayer();
-            if (player == null) {
-                System.out.println("Player did not exist on join");
-                return;
-            }
-            plugin.getAttachmentManager().setAttachment(player.getUniqueId(), player.addAttachment(plugin), Optional.empty());
-            PermissionUtil.applyPermissions(player);
+        plugin.getPermissibleInjector().ifPresent(injector -> {
+            if (!injector.inject(e.getPlayer()))
+                plugin.getLogger().warning("Could not inject " + e.getPlayer().getName() + ", using attachments instead.");
         });
+        Player player = e.getPlayer();
+        if (player == null) {
+            System.out.println("Player did not exist on join");
+            return;
+        }
+        // Usually loaded before they joined, otherwise load them now.
+        if (PermissionUtil.installPermissions(player)) return;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> PermissionUtil.applyPermissions(player));
     }
 }
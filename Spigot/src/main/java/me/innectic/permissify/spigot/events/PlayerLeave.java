@@ -21,5 +21,8 @@ public class PlayerLeave implements Listener {
         Player player = e.getPlayer();
 
         plugin.getAttachmentManager().removeAttachment(player.getUniqueId());
+        plugin.getPermissibleInjector().ifPresent(injector -> injector.forget(player.getUniqueId()));
+        plugin.getChatFormatter().ifPresent(formatter -> formatter.forget(player.getUniqueId()));
+        plugin.getPermissifyAPI().getDatabaseHandler().ifPresent(handler -> handler.invalidatePlayer(player.getUniqueId()));
     }
 }
@@ -0,0 +1,75 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.spigot.events;
+
+import me.innectic.permissify.api.PermissifyConstants;
+import me.innectic.permissify.spigot.PermissifyMain;
+import me.innectic.permissify.spigot.utils.MessageUtil;
+import me.innectic.permissify.spigot.utils.PermissionUtil;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Loads and compiles a player's permissions before they join, so the join only has to install them.
+ */
+public class PlayerPreLogin implements Listener {
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onAsyncPlayerPreLoginEvent(AsyncPlayerPreLoginEvent e) {
+        PermissifyMain plugin = PermissifyMain.getInstance();
+        if (e.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        if (!plugin.getPermissifyAPI().getDatabaseHandler().isPresent()) return;
+        try {
+            // Loaded on the handler's threads, batched with everyone else logging in, so a slow database can't hold
+            // the login past the timeout.
+            PermissionUtil.preloadAsync(e.getUniqueId()).get(plugin.getPreloadTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            preloadFailed(plugin, e);
+        } catch (ExecutionException | TimeoutException ex) {
+            preloadFailed(plugin, e);
+        }
+    }
+
+    private void preloadFailed(PermissifyMain plugin, AsyncPlayerPreLoginEvent e) {
+        if (plugin.isDenyOnPreloadTimeout()) {
+            plugin.getLogger().warning("Could not load " + e.getName() + "'s permissions in time, denying the login.");
+            e.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, MessageUtil.makeReadable(PermissifyConstants.PRELOAD_TIMED_OUT));
+        } else {
+            // They'll be loaded after joining instead.
+            plugin.getLogger().warning("Could not load " + e.getName() + "'s permissions in time, loading them after they join.");
+        }
+    }
+}
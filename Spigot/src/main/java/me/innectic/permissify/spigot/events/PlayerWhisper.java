@@ -0,0 +1,82 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.spigot.events;
+
+import me.innectic.permissify.spigot.PermissifyMain;
+import me.innectic.permissify.spigot.chat.ChatFormatter;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Formats the vanilla whisper commands the same way as chat, when handleWhispers is enabled. Whispers are left alone
+ * when another plugin owns the command, so its permissions, ignores, and social spy keep working.
+ */
+public class PlayerWhisper implements Listener {
+
+    private static final String VANILLA_PREFIX = "minecraft:";
+    private static final String WHISPER_PERMISSION = "minecraft.command.msg";
+    private static final Set<String> WHISPER_COMMANDS = new HashSet<>(Arrays.asList("msg", "tell", "w", "whisper"));
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onPlayerCommandPreprocessEvent(PlayerCommandPreprocessEvent e) {
+        PermissifyMain plugin = PermissifyMain.getInstance();
+        if (!plugin.isHandleChat() || !plugin.isHandleWhispers()) return;
+        Optional<ChatFormatter> formatter = plugin.getChatFormatter();
+        if (!formatter.isPresent()) return;
+
+        // /msg <player> <message>
+        String[] args = e.getMessage().substring(1).split(" ", 3);
+        if (args.length < 3 || args[2].trim().isEmpty()) return;
+        String command = args[0].toLowerCase(Locale.ROOT);
+        if (command.startsWith(VANILLA_PREFIX)) command = command.substring(VANILLA_PREFIX.length());
+        // Another plugin replaced the command, so it gets to handle it.
+        else if (Bukkit.getPluginCommand(command) != null) return;
+        if (!WHISPER_COMMANDS.contains(command)) return;
+
+        Player sender = e.getPlayer();
+        // Let the server answer anything it would refuse.
+        if (!sender.hasPermission(WHISPER_PERMISSION)) return;
+        Player receiver = Bukkit.getPlayerExact(args[1]);
+        if (receiver == null || !sender.canSee(receiver)) return;
+
+        e.setCancelled(true);
+        String whisper = formatter.get().formatWhisper(sender, receiver, args[2]);
+        sender.sendMessage(whisper);
+        if (receiver != sender) receiver.sendMessage(whisper);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.spigot.permissible;
+
+import me.innectic.permissify.api.database.DatabaseHandler;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.PermissibleBase;
+import org.bukkit.permissions.PermissionAttachment;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Swaps each player's {@link PermissibleBase} for a {@link PermissifyPermissible}. The field holding it isn't part of
+ * the API, so it's looked up on the player's class; when it can't be found, players keep using attachments.
+ *
+ * Attachments are moved over to whichever permissible the player has, both ways, so ones added by other plugins
+ * while the player was injected aren't lost.
+ */
+public class PermissibleInjector {
+
+    private static final Optional<Field> ATTACHMENTS_FIELD = findField(PermissibleBase.class, "attachments");
+    // The permissible an attachment recalculates when it changes, and removes itself from.
+    private static final Optional<Field> ATTACHMENT_PERMISSIBLE_FIELD = findField(PermissionAttachment.class, "permissible");
+
+    private final DatabaseHandler handler;
+    // The permissible each injected player had before, so it can be put back.
+    private final Map<UUID, PermissibleBase> replaced = new ConcurrentHashMap<>();
+
+    public PermissibleInjector(DatabaseHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Inject a player. Must be called on the main thread.
+     *
+     * @param player the player to inject
+     * @return if the player's checks now go through Permissify
+     */
+    public boolean inject(Player player) {
+        Optional<Field> field = findPermissibleField(player.getClass());
+        // Without moving attachments, other plugins' attachments would stop applying.
+        if (!field.isPresent() || !ATTACHMENTS_FIELD.isPresent() || !ATTACHMENT_PERMISSIBLE_FIELD.isPresent()) return false;
+        try {
+            PermissibleBase original = (PermissibleBase) field.get().get(player);
+            if (original instanceof PermissifyPermissible) return true;
+
+            PermissifyPermissible permissible = new PermissifyPermissible(player, handler);
+            // Keep the attachments other plugins already gave the player.
+            moveAttachments(original, permissible);
+            field.get().set(player, permissible);
+            permissible.recalculatePermissions();
+            replaced.put(player.getUniqueId(), original);
+            return true;
+        } catch (IllegalAccessException | ClassCastException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Put a player's original permissible back, if they were injected.
+     *
+     * @param player the player
+     */
+    public void uninject(Player player) {
+        PermissibleBase original = replaced.remove(player.getUniqueId());
+        if (original == null) return;
+        findPermissibleField(player.getClass()).ifPresent(field -> {
+            try {
+                PermissibleBase injected = (PermissibleBase) field.get(player);
+                // Take back every attachment the player has now, including ones added while they were injected.
+                if (injected instanceof PermissifyPermissible) moveAttachments(injected, original);
+                field.set(player, original);
+                original.recalculatePermissions();
+            } catch (IllegalAccessException | ClassCastException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Forget a player who left, without touching their permissible.
+     *
+     * @param uuid the uuid of the player
+     */
+    public void forget(UUID uuid) {
+        replaced.remove(uuid);
+    }
+
+    public boolean isInjected(UUID uuid) {
+        return replaced.containsKey(uuid);
+    }
+
+    private static Optional<Field> findPermissibleField(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!PermissibleBase.class.isAssignableFrom(field.getType())) continue;
+                try {
+                    field.setAccessible(true);
+                    return Optional.of(field);
+                } catch (SecurityException e) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Field> findField(Class<?> type, String name) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return Optional.of(field);
+        } catch (NoSuchFieldException | SecurityException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Move every attachment from one permissible to another, replacing what the other one held. Each attachment is
+     * pointed at its new permissible, so changing or removing it recalculates the one the player actually has.
+     */
+    @SuppressWarnings("unchecked")
+    private static void moveAttachments(PermissibleBase from, PermissibleBase to) throws IllegalAccessException {
+        if (!ATTACHMENTS_FIELD.isPresent() || !ATTACHMENT_PERMISSIBLE_FIELD.isPresent()) return;
+        List<PermissionAttachment> moved = (List<PermissionAttachment>) ATTACHMENTS_FIELD.get().get(from);
+        List<PermissionAttachment> target = (List<PermissionAttachment>) ATTACHMENTS_FIELD.get().get(to);
+        target.clear();
+        for (PermissionAttachment attachment : moved) {
+            ATTACHMENT_PERMISSIBLE_FIELD.get().set(attachment, to);
+            target.add(attachment);
+        }
+    }
+}
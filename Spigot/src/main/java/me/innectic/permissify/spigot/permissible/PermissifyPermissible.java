@@ -0,0 +1,157 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.spigot.permissible;
+
+import me.innectic.permissify.api.database.DatabaseHandler;
+import me.innectic.permissify.api.permission.EffectivePermissions;
+import me.innectic.permissify.api.util.Tristate;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.PermissibleBase;
+import org.bukkit.permissions.Permission;
+import org.bukkit.plugin.PluginManager;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Answers permission checks straight from the player's compiled permissions in the handler, so nothing has to be
+ * copied into attachments. Anything Permissify says nothing about is left to Bukkit, so defaults and other plugins'
+ * attachments still work.
+ *
+ * Checks happen on the main thread, so they only ever read the last compiled snapshot. When the player's snapshot was
+ * dropped, the previous one keeps answering while a new one is compiled off of the main thread.
+ */
+public class PermissifyPermissible extends PermissibleBase {
+
+    // How long to wait before compiling again after compiling failed.
+    private static final long RETRY_DELAY = 5000;
+
+    private final UUID uuid;
+    private final DatabaseHandler handler;
+    private volatile Snapshot snapshot;
+    private final AtomicBoolean compiling = new AtomicBoolean();
+    private volatile long retryAt = 0;
+
+    public PermissifyPermissible(Player player, DatabaseHandler handler) {
+        super(player);
+        this.uuid = player.getUniqueId();
+        this.handler = handler;
+    }
+
+    @Override
+    public boolean isPermissionSet(String name) {
+        return check(name) != Tristate.NONE || super.isPermissionSet(name);
+    }
+
+    @Override
+    public boolean isPermissionSet(Permission perm) {
+        return check(perm.getName()) != Tristate.NONE || super.isPermissionSet(perm);
+    }
+
+    @Override
+    public boolean hasPermission(String name) {
+        Tristate state = check(name);
+        if (state == Tristate.NONE) return super.hasPermission(name);
+        return state == Tristate.TRUE;
+    }
+
+    @Override
+    public boolean hasPermission(Permission perm) {
+        Tristate state = check(perm.getName());
+        if (state == Tristate.NONE) return super.hasPermission(perm);
+        return state == Tristate.TRUE;
+    }
+
+    private Tristate check(String node) {
+        Snapshot current = snapshot();
+        return current == null ? Tristate.NONE : current.check(node);
+    }
+
+    /**
+     * Get the snapshot to answer checks from. Never compiles or touches the database.
+     *
+     * @return the current snapshot, or the previous one while compiling; null if there never was one
+     */
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        Optional<EffectivePermissions> compiled = handler.getCompiledPermissions(uuid);
+        if (!compiled.isPresent()) {
+            compile();
+            return current;
+        }
+        if (current == null || current.compiled != compiled.get()) snapshot = current = new Snapshot(compiled.get());
+        return current;
+    }
+
+    private void compile() {
+        if (System.currentTimeMillis() < retryAt || !compiling.compareAndSet(false, true)) return;
+        handler.getEffectivePermissionsAsync(uuid).whenComplete((compiled, e) -> {
+            // Don't hammer the database while it's failing.
+            if (e != null) retryAt = System.currentTimeMillis() + RETRY_DELAY;
+            compiling.set(false);
+        });
+    }
+
+    /**
+     * A compiled snapshot, along with the children Bukkit declares for the nodes in it. Those would normally be set
+     * by attachments, which injected players don't get.
+     */
+    private static class Snapshot {
+        private final EffectivePermissions compiled;
+        private final Map<String, Boolean> children = new HashMap<>();
+
+        private Snapshot(EffectivePermissions compiled) {
+            this.compiled = compiled;
+            PluginManager plugins = Bukkit.getPluginManager();
+            compiled.getPermissions().forEach(permission -> addChildren(plugins, permission.getPermission(), permission.isGranted()));
+        }
+
+        private void addChildren(PluginManager plugins, String node, boolean granted) {
+            Permission declared = plugins.getPermission(node);
+            if (declared == null) return;
+            declared.getChildren().forEach((child, value) -> {
+                // Same as Bukkit: denying a parent flips its children.
+                boolean childGranted = value == granted;
+                if (children.putIfAbsent(child.toLowerCase(Locale.ROOT), childGranted) == null) addChildren(plugins, child, childGranted);
+            });
+        }
+
+        private Tristate check(String node) {
+            Tristate state = compiled.check(node);
+            if (state != Tristate.NONE) return state;
+            Boolean child = children.get(node.toLowerCase(Locale.ROOT));
+            if (child == null) return Tristate.NONE;
+            return child ? Tristate.TRUE : Tristate.FALSE;
+        }
+    }
+}
@@ -1,37 +1,107 @@
 package me.innectic.permissify.spigot.utils;
 
+import me.innectic.permissify.spigot.PermissifyMain;
+import org.bukkit.entity.Player;
 import org.bukkit.permissions.PermissionAttachment;
 
+import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Innectic
  * @since 07/21/2018
+ *
+ * Keeps a single attachment per player, holding everything Permissify gives them. New permissions are diffed against
+ * what the attachment already holds, and only the difference is written. All changes must be made on the main thread.
  */
 public class AttachmentManager {
 
-    private static Map<UUID, Map<String, PermissionAttachment>> attachments = new HashMap<>();
+    // The attachment's own node map. Writing to it directly means a change only recalculates the player's
+    // permissions once, instead of once for every node that changed.
+    private static final Optional<Field> PERMISSIONS_FIELD = findPermissionsField();
 
-    public Optional<PermissionAttachment> getAttachment(UUID uuid, Optional<String> groupName) {
-        return Optional.ofNullable(attachments.getOrDefault(uuid, new HashMap<>()).getOrDefault(groupName.orElse(""), null));
-    }
+    private final Map<UUID, PermissionAttachment> attachments = new ConcurrentHashMap<>();
 
-    public void setAttachment(UUID uuid, PermissionAttachment attachment, Optional<String> groupName) {
-        Map<String, PermissionAttachment> attachments = new HashMap<>();
-        attachments.put(groupName.orElse(""), attachment);
-        AttachmentManager.attachments.put(uuid, attachments);
+    public Optional<PermissionAttachment> getAttachment(UUID uuid) {
+        return Optional.ofNullable(attachments.get(uuid));
     }
 
     public void removeAttachment(UUID uuid) {
         attachments.remove(uuid);
     }
 
-    public Collection<PermissionAttachment> getAllAttachmentsForPlayer(UUID uuid) {
-        return attachments.get(uuid).values();
+    /**
+     * Make a player's attachment hold exactly the given nodes.
+     *
+     * @param player the player
+     * @param target every node the player should have, and if it's granted
+     */
+    public void apply(Player player, Map<String, Boolean> target) {
+        PermissionAttachment attachment = getOrCreate(player);
+        Optional<Map<String, Boolean>> nodes = nodesOf(attachment);
+        Set<String> current = nodes.map(Map::keySet).orElseGet(() -> attachment.getPermissions().keySet());
+
+        // Attachments store nodes lower cased, so compare them that way.
+        Map<String, Boolean> changes = new HashMap<>();
+        target.forEach((node, granted) -> changes.put(node.toLowerCase(Locale.ROOT), granted));
+        current.forEach(node -> changes.putIfAbsent(node, null));
+        write(player, attachment, nodes, changes);
     }
 
-    public void resetAllPermissibles(UUID uuid) {
-        attachments.get(uuid).values().forEach(attachment -> attachment.getPermissions().keySet().forEach(attachment::unsetPermission));
-        attachments.remove(uuid);
+    /**
+     * Change only some of the nodes on a player's attachment.
+     *
+     * @param player  the player
+     * @param changes the nodes to change, with a null value for nodes to remove
+     */
+    public void update(Player player, Map<String, Boolean> changes) {
+        PermissionAttachment attachment = getOrCreate(player);
+        write(player, attachment, nodesOf(attachment), changes);
+    }
+
+    private PermissionAttachment getOrCreate(Player player) {
+        return attachments.computeIfAbsent(player.getUniqueId(), uuid -> player.addAttachment(PermissifyMain.getInstance()));
+    }
+
+    private void write(Player player, PermissionAttachment attachment, Optional<Map<String, Boolean>> nodes, Map<String, Boolean> changes) {
+        if (!nodes.isPresent()) {
+            // Without the node map, every change recalculates on its own.
+            Map<String, Boolean> current = attachment.getPermissions();
+            changes.forEach((node, granted) -> {
+                if (Objects.equals(current.get(node.toLowerCase(Locale.ROOT)), granted)) return;
+                if (granted == null) attachment.unsetPermission(node);
+                else attachment.setPermission(node, granted);
+            });
+            return;
+        }
+        Map<String, Boolean> current = nodes.get();
+        boolean changed = false;
+        for (Map.Entry<String, Boolean> change : changes.entrySet()) {
+            String node = change.getKey().toLowerCase(Locale.ROOT);
+            Boolean previous = change.getValue() == null ? current.remove(node) : current.put(node, change.getValue());
+            if (!Objects.equals(previous, change.getValue())) changed = true;
+        }
+        if (changed) player.recalculatePermissions();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Map<String, Boolean>> nodesOf(PermissionAttachment attachment) {
+        if (!PERMISSIONS_FIELD.isPresent()) return Optional.empty();
+        try {
+            return Optional.of((Map<String, Boolean>) PERMISSIONS_FIELD.get().get(attachment));
+        } catch (IllegalAccessException | ClassCastException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Field> findPermissionsField() {
+        try {
+            Field field = PermissionAttachment.class.getDeclaredField("permissions");
+            field.setAccessible(true);
+            return Optional.of(field);
+        } catch (NoSuchFieldException | SecurityException e) {
+            return Optional.empty();
+        }
     }
 }
@@ -30,6 +30,7 @@ import me.innectic.permissify.api.database.handlers.FullHandler;
 import me.innectic.permissify.api.database.handlers.HandlerType;
 import me.innectic.permissify.api.database.handlers.SQLHandler;
 import me.innectic.permissify.api.util.VerifyConfig;
+import org.bukkit.configuration.ConfigurationSection;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -71,14 +72,14 @@ public class ConfigVerifier implements VerifyConfig {
                         plugin.getConfig().getInt("connection.port"),
                         plugin.getConfig().getString("connection.username"),
                         plugin.getConfig().getString("connection.password"),
-                        new HashMap<>())
+                        createMeta())
                 );
             } else if (type.get().getDisplayName().equalsIgnoreCase("sqlite")) {
                 if (plugin.getConfig().getString("connection.file") == null) return Optional.empty();
 
                 Map<String, Object> sqliteMeta = new HashMap<>();
                 sqliteMeta.put("file", plugin.getDataFolder() + "/" + plugin.getConfig().getString("connection.file"));
-                Map<String, Object> meta = new HashMap<>();
+                Map<String, Object> meta = createMeta();
                 meta.put("sqlite", sqliteMeta);
 
                 connectionInformation = Optional.of(new ConnectionInformation("", "", 0, "", "", meta));
@@ -86,4 +87,22 @@ public class ConfigVerifier implements VerifyConfig {
         }
         return Optional.of(new FullHandler(type, connectionInformation));
     }
+
+    /**
+     * Create the meta shared between every handler type.
+     *
+     * @return the meta for the connection information
+     */
+    private Map<String, Object> createMeta() {
+        Map<String, Object> meta = new HashMap<>();
+        ConfigurationSection pool = PermissifyMain.getInstance().getConfig().getConfigurationSection("connection.pool");
+        if (pool != null) meta.put("pool", pool.getValues(false));
+        ConfigurationSection writeBehind = PermissifyMain.getInstance().getConfig().getConfigurationSection("connection.write-behind");
+        if (writeBehind != null) meta.put("write-behind", writeBehind.getValues(false));
+        ConfigurationSection batchLoad = PermissifyMain.getInstance().getConfig().getConfigurationSection("connection.batch-load");
+        if (batchLoad != null) meta.put("batch-load", batchLoad.getValues(false));
+        ConfigurationSection async = PermissifyMain.getInstance().getConfig().getConfigurationSection("connection.async");
+        if (async != null) meta.put("async", async.getValues(false));
+        return meta;
+    }
 }
@@ -44,9 +44,8 @@ public class DisplayUtil implements me.innectic.permissify.api.util.DisplayUtil
     public void displayError(ConnectionError error, Optional<Exception> exception) {
         String reportable = shouldReport(error) ? ChatColor.GREEN + "" + ChatColor.BOLD + "Yes": ChatColor.RED + "" + ChatColor.BOLD + "No";
         List<String> messages = PermissifyConstants.PERMISSIFY_ERROR.stream()
-                .map(part -> part.replace("<ERROR_TYPE>", error.getDisplay()))
-                .map(part -> part.replace("<SHOULD_REPORT>", reportable))
-                .map(ColorUtil::makeReadable).collect(Collectors.toList());
+                .map(part -> MessageUtil.format(part, "ERROR_TYPE", error.getDisplay(), "SHOULD_REPORT", reportable))
+                .collect(Collectors.toList());
         List<Player> players = Bukkit.getOnlinePlayers().stream().filter(player -> PermissionUtil.hasPermissionOrSuperAdmin(player, PermissifyConstants.PERMISSIFY_ADMIN)).collect(Collectors.toList());
         messages.forEach(message -> players.forEach(player -> player.sendMessage(message)));
     }
@@ -0,0 +1,61 @@
+/*
+*
+* This file is part of Permissify, licensed under the MIT License (MIT).
+* Copyright (c) Innectic
+* Copyright (c) contributors
+*
+* Permission is hereby granted, free of charge, to any person obtaining a copy
+* of this software and associated documentation files (the "Software"), to deal
+* in the Software without restriction, including without limitation the rights
+* to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+* copies of the Software, and to permit persons to whom the Software is
+* furnished to do so, subject to the following conditions:
+*
+* The above copyright notice and this permission notice shall be included in all
+* copies or substantial portions of the Software.
+*
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+* IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+* FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+* AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+* LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+* OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+* SOFTWARE.
+ */
+package me.innectic.permissify.spigot.utils;
+
+import me.innectic.permissify.api.PermissifyConstants;
+import me.innectic.permissify.api.format.MessageTemplates;
+
+/**
+ * @author Innectic
+ * @since 10/17/2026
+ *
+ * Renders the messages in {@link PermissifyConstants}. They're all parsed, with colors translated, once when this is
+ * first loaded.
+ */
+public class MessageUtil {
+
+    private static final MessageTemplates TEMPLATES = new MessageTemplates(PermissifyConstants.class, ColorUtil::makeReadable);
+
+    /**
+     * Render a message, replacing its placeholders.
+     *
+     * @param message      the message, one of the constants
+     * @param replacements the name of each placeholder, without the angle brackets, followed by its value
+     * @return the rendered message, ready to send
+     */
+    public static String format(String message, String... replacements) {
+        return TEMPLATES.render(message, replacements);
+    }
+
+    /**
+     * Get a message ready to send, translating its colors if they haven't been already.
+     *
+     * @param message the message
+     * @return the message, ready to send
+     */
+    public static String makeReadable(String message) {
+        return TEMPLATES.readable(message);
+    }
+}
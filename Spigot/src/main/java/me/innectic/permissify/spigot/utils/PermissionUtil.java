@@ -24,15 +24,19 @@
  */
 package me.innectic.permissify.spigot.utils;
 
+import me.innectic.permissify.api.database.DatabaseHandler;
+import me.innectic.permissify.api.permission.EffectivePermissions;
+import me.innectic.permissify.api.permission.PermissionDelta;
+import me.innectic.permissify.api.permission.PermissionGroup;
 import me.innectic.permissify.spigot.PermissifyMain;
+import org.bukkit.Bukkit;
 import org.bukkit.block.CommandBlock;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
-import org.bukkit.permissions.PermissionAttachment;
 
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Innectic
@@ -50,44 +54,123 @@ public class PermissionUtil {
         return sender instanceof CommandBlock || sender instanceof ConsoleCommandSender;
     }
 
-    private static void removeAllPermissions(Player player) {
-        player.getEffectivePermissions().stream().map(info -> {
-            if (info.getAttachment() == null) {
-                // When the attachment is null, this is something coming from default Spigot
-                return null;
-            }
-            return info.getAttachment();
-        }).filter(Objects::nonNull).forEach(PermissionAttachment::remove);
+    /**
+     * Load everything a player needs from the database, and compile it. Blocks on the database, so never call this
+     * on the main thread.
+     *
+     * @param uuid the uuid of the player
+     */
+    public static void preload(UUID uuid) {
+        PermissifyMain.getInstance().getPermissifyAPI().getDatabaseHandler().ifPresent(handler -> {
+            assignDefaultGroup(handler, uuid);
+            handler.updateCache(uuid);
+            handler.getEffectivePermissions(uuid);
+        });
+    }
+
+    /**
+     * Load everything a player needs from the database, and compile it, batched with other players loading at the
+     * same time.
+     *
+     * @param uuid the uuid of the player
+     * @return completed once the player is compiled
+     */
+    public static CompletableFuture<Void> preloadAsync(UUID uuid) {
+        Optional<DatabaseHandler> handler = PermissifyMain.getInstance().getPermissifyAPI().getDatabaseHandler();
+        if (!handler.isPresent()) return CompletableFuture.completedFuture(null);
+        return handler.get().loadPlayerAsync(uuid).thenCompose(loaded -> handler.get().getExecutor().run(() -> {
+            assignDefaultGroup(handler.get(), uuid);
+            handler.get().getEffectivePermissions(uuid);
+        }));
+    }
+
+    private static void assignDefaultGroup(DatabaseHandler handler, UUID uuid) {
+        // Check if the player should be in a default group.
+        if (handler.getDefaultGroup().isPresent() && !handler.getDefaultGroup().get().hasPlayer(uuid)) {
+            handler.addPlayerToGroup(uuid, handler.getDefaultGroup().get());
+            handler.setPrimaryGroup(handler.getDefaultGroup().get(), uuid);
+        }
     }
 
+    /**
+     * Install a player's permissions, if they're already compiled. Never touches the database, so it's safe to call
+     * on the main thread, and must be.
+     *
+     * @param player the player
+     * @return if the player had compiled permissions to install
+     */
+    public static boolean installPermissions(Player player) {
+        PermissifyMain plugin = PermissifyMain.getInstance();
+
+        Optional<EffectivePermissions> compiled = plugin.getPermissifyAPI().getDatabaseHandler()
+                .flatMap(handler -> handler.getCompiledPermissions(player.getUniqueId()));
+        if (!compiled.isPresent()) return false;
+        // Injected players are checked against the compiled permissions directly.
+        if (!isInjected(player)) plugin.getAttachmentManager().apply(player, compiled.get().nodes());
+        return true;
+    }
+
+    /**
+     * Bring a player's attachment up to date with everything they have. The permissions are loaded on the calling
+     * thread, and only the difference is applied to the attachment on the main thread.
+     *
+     * @param player the player
+     */
     public static void applyPermissions(Player player) {
         PermissifyMain plugin = PermissifyMain.getInstance();
 
-        removeAllPermissions(player);
-        plugin.getAttachmentManager().resetAllPermissibles(player.getUniqueId());
+        preload(player.getUniqueId());
+        // Injected players are checked against the compiled permissions directly.
+        if (isInjected(player)) return;
+        plugin.getPermissifyAPI().getDatabaseHandler().ifPresent(handler -> {
+            Map<String, Boolean> target = handler.getEffectivePermissions(player.getUniqueId()).nodes();
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (player.isOnline()) plugin.getAttachmentManager().apply(player, target);
+            });
+        });
+    }
 
-        plugin.getAttachmentManager().setAttachment(player.getUniqueId(), player.addAttachment(plugin), Optional.empty());
-        player.recalculatePermissions();
+    /**
+     * Apply a change in what a group gives to each online player in it. Only the changed nodes are looked at, so
+     * the rest of the player's attachment is left alone.
+     *
+     * @param group the group that changed
+     * @param delta what changed
+     */
+    public static void applyGroupDelta(PermissionGroup group, PermissionDelta delta) {
+        PermissifyMain plugin = PermissifyMain.getInstance();
 
         plugin.getPermissifyAPI().getDatabaseHandler().ifPresent(handler -> {
-            // Check if the player should be in a default group.
-            if (handler.getDefaultGroup().isPresent() && !handler.getDefaultGroup().get().hasPlayer(player.getUniqueId())) {
-                handler.addPlayerToGroup(player.getUniqueId(), handler.getDefaultGroup().get());
-                handler.setPrimaryGroup(handler.getDefaultGroup().get(), player.getUniqueId());
-            }
-            handler.updateCache(player.getUniqueId());
-
-            // Add the player's "self" permissions
-            plugin.getAttachmentManager().getAttachment(player.getUniqueId(), Optional.empty()).ifPresent(self ->
-                    handler.getPermissions(player.getUniqueId()).forEach(permission -> self.setPermission(permission.getPermission(), permission.isGranted())));
-
-            // Add the player's group permissions
-            handler.getGroups(player.getUniqueId()).forEach(group -> {
-                PermissionAttachment attachment = player.addAttachment(plugin);
-
-                group.getPermissions().forEach(permission -> attachment.setPermission(permission.getPermission(), permission.isGranted()));
-                plugin.getAttachmentManager().setAttachment(player.getUniqueId(), attachment, Optional.of(group.getName()));
+            List<String> nodes = new ArrayList<>(delta.getRemoved());
+            delta.getAdded().forEach(permission -> nodes.add(permission.getPermission()));
+
+            // Players with the same compiled permissions get the same changes, so only work them out once.
+            Map<EffectivePermissions, Map<String, Boolean>> changesByCompiled = new IdentityHashMap<>();
+            Map<Player, Map<String, Boolean>> changes = new HashMap<>();
+            group.getPlayers().keySet().forEach(uuid -> {
+                Player player = Bukkit.getPlayer(uuid);
+                if (player == null || isInjected(player)) return;
+                changes.put(player, changesByCompiled.computeIfAbsent(handler.getEffectivePermissions(uuid),
+                        compiled -> resolveNodes(compiled, nodes)));
             });
+            if (changes.isEmpty()) return;
+            Bukkit.getScheduler().runTask(plugin, () -> changes.forEach((player, playerChanges) -> {
+                if (player.isOnline()) plugin.getAttachmentManager().update(player, playerChanges);
+            }));
+        });
+    }
+
+    private static boolean isInjected(Player player) {
+        return PermissifyMain.getInstance().getPermissibleInjector().map(injector -> injector.isInjected(player.getUniqueId())).orElse(false);
+    }
+
+    private static Map<String, Boolean> resolveNodes(EffectivePermissions compiled, List<String> nodes) {
+        Map<String, Boolean> all = compiled.nodes();
+        Map<String, Boolean> resolved = new HashMap<>(nodes.size() * 2);
+        nodes.forEach(node -> {
+            String lowered = node.toLowerCase(Locale.ROOT);
+            resolved.put(lowered, all.get(lowered));
         });
+        return resolved;
     }
 }